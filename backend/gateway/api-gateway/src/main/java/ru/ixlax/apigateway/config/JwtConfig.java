@@ -0,0 +1,67 @@
+package ru.ixlax.apigateway.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import ru.ixlax.apigateway.security.GatewayIdentity;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(@Value("${JWT_SECRET}") String secret) {
+        return NimbusReactiveJwtDecoder
+                .withSecretKey(new SecretKeySpec(secret.getBytes(), "HmacSHA256"))
+                .build();
+    }
+
+    /**
+     * Ключ подписи внутренних заголовков личности. Должен совпадать с app.identity.secret в сервисах.
+     */
+    @Bean
+    public SecretKeySpec identityKey(@Value("${app.identity.secret}") String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * Запись живёт до exp токена (но не дольше max-ttl), поэтому истёкший токен не переживёт кэш.
+     */
+    @Bean
+    public Cache<String, GatewayIdentity> identityCache(
+            @Value("${app.identity.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.identity.cache.max-ttl:15m}") Duration maxTtl
+    ) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, GatewayIdentity>() {
+                    @Override
+                    public long expireAfterCreate(String key, GatewayIdentity value, long currentTime) {
+                        if (value.expiresAt() == null) return maxTtl.toNanos();
+                        Duration left = Duration.between(Instant.now(), value.expiresAt());
+                        if (left.isNegative()) return 0;
+                        return Math.min(left.toNanos(), maxTtl.toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, GatewayIdentity value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, GatewayIdentity value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+}
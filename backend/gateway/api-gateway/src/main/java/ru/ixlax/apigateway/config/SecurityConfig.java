@@ -7,7 +7,8 @@ import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 /**
- * На старте открываем всё. Потом включим проверку JWT.
+ * JWT проверяется в {@link ru.ixlax.apigateway.security.EdgeAuthenticationFilter}:
+ * сервисы получают подписанные заголовки X-User-*, а права по ролям проверяют сами.
  */
 @Configuration
 @EnableWebFluxSecurity
@@ -0,0 +1,88 @@
+package ru.ixlax.apigateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Проверяет Bearer-токен один раз на входе и передаёт сервисам подписанные заголовки X-User-*.
+ * Расшифрованные claims кэшируются по SHA-256 токена до его истечения.
+ * Невалидный токен запрос не блокирует: сервисы, как и раньше, считают его анонимным.
+ */
+@Component
+@RequiredArgsConstructor
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final Cache<String, GatewayIdentity> identityCache;
+    private final SecretKeySpec identityKey;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String token = bearerToken(exchange.getRequest().getHeaders());
+        if (token == null) {
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        String cacheKey = sha256(token);
+        GatewayIdentity cached = identityCache.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired()) {
+            return chain.filter(withIdentity(exchange, cached));
+        }
+
+        return jwtDecoder.decode(token)
+                .map(GatewayIdentity::from)
+                .filter(GatewayIdentity::isSignable)
+                .doOnNext(identity -> identityCache.put(cacheKey, identity))
+                .onErrorResume(e -> Mono.empty())
+                .map(identity -> withIdentity(exchange, identity))
+                .defaultIfEmpty(withIdentity(exchange, null))
+                .flatMap(chain::filter);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Клиентские X-User-* всегда срезаются, даже если токена нет.
+     */
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, GatewayIdentity identity) {
+        return exchange.mutate()
+                .request(r -> r.headers(h -> {
+                    GatewayIdentity.HEADERS.forEach(h::remove);
+                    if (identity != null) identity.writeTo(h, identityKey);
+                }))
+                .build();
+    }
+
+    private static String bearerToken(HttpHeaders headers) {
+        String header = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        String token = header.substring(7).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
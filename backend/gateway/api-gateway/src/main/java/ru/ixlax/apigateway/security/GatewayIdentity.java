@@ -0,0 +1,95 @@
+package ru.ixlax.apigateway.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Личность пользователя, проверенная на шлюзе.
+ * Сервисы получают её в заголовках X-User-* и сверяют подпись X-Identity-Signature
+ * общим внутренним секретом вместо повторного разбора JWT.
+ */
+public record GatewayIdentity(
+        String userId,
+        String role,
+        String email,
+        String name,
+        Instant expiresAt
+) {
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String USER_EMAIL = "X-User-Email";
+    public static final String USER_NAME = "X-User-Name";
+    public static final String EXPIRES = "X-User-Expires";
+    public static final String SIGNATURE = "X-Identity-Signature";
+
+    public static final List<String> HEADERS = List.of(USER_ID, USER_ROLE, USER_EMAIL, USER_NAME, EXPIRES, SIGNATURE);
+
+    private static final String VERSION = "upme-identity-v1";
+
+    public static GatewayIdentity from(Jwt jwt) {
+        return new GatewayIdentity(
+                jwt.getSubject(),
+                jwt.getClaimAsString("role"),
+                jwt.getClaimAsString("email"),
+                jwt.getClaimAsString("name"),
+                jwt.getExpiresAt()
+        );
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && Instant.now().isAfter(expiresAt);
+    }
+
+    /**
+     * Подписывать можно только личность из токена с exp: подписанные заголовки без срока
+     * действовали бы вечно, не завися от живого токена.
+     */
+    public boolean isSignable() {
+        return userId != null && expiresAt != null;
+    }
+
+    /**
+     * Пишет заголовки личности. Имя кодируется как URL (UTF-8), чтобы кириллица пережила HTTP-заголовок.
+     */
+    public void writeTo(HttpHeaders headers, SecretKeySpec key) {
+        if (!isSignable()) {
+            throw new IllegalStateException("Личность без exp не подписывается");
+        }
+        String encodedName = encode(name);
+        String expires = Long.toString(expiresAt.getEpochSecond());
+        headers.set(USER_ID, userId);
+        headers.set(USER_ROLE, nullToEmpty(role));
+        headers.set(USER_EMAIL, nullToEmpty(email));
+        headers.set(USER_NAME, encodedName);
+        headers.set(EXPIRES, expires);
+        headers.set(SIGNATURE, sign(key, userId, nullToEmpty(role), nullToEmpty(email), encodedName, expires));
+    }
+
+    static String sign(SecretKeySpec key, String... parts) {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            byte[] digest = mac.doFinal((VERSION + "\n" + String.join("\n", parts)).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Не удалось подписать заголовки личности", e);
+        }
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.ixlax.apigateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Закрепляет формат подписи: та же эталонная подпись проверяется в GatewayIdentityVerifierTest
+ * course-service, поэтому изменение формата на одной стороне ломает тест.
+ */
+class GatewayIdentityTest {
+
+	private static final SecretKeySpec KEY =
+			new SecretKeySpec("test-identity-secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+
+	@Test
+	void signsInSharedFormat() {
+		GatewayIdentity identity = new GatewayIdentity("11111111-1111-1111-1111-111111111111",
+				"TEACHER", "anna@example.com", "Анна Иванова", Instant.ofEpochSecond(4102444800L));
+		HttpHeaders headers = new HttpHeaders();
+
+		identity.writeTo(headers, KEY);
+
+		assertThat(headers.getFirst(GatewayIdentity.USER_NAME))
+				.isEqualTo("%D0%90%D0%BD%D0%BD%D0%B0+%D0%98%D0%B2%D0%B0%D0%BD%D0%BE%D0%B2%D0%B0");
+		assertThat(headers.getFirst(GatewayIdentity.EXPIRES)).isEqualTo("4102444800");
+		assertThat(headers.getFirst(GatewayIdentity.SIGNATURE)).isEqualTo("Res9Wmui3nO5Df9KERbMMZTJ576kXPL2hottNdDYfSo");
+	}
+
+	@Test
+	void refusesIdentityWithoutExpiry() {
+		GatewayIdentity identity = new GatewayIdentity("11111111-1111-1111-1111-111111111111",
+				"TEACHER", null, null, null);
+
+		assertThat(identity.isSignable()).isFalse();
+		assertThatThrownBy(() -> identity.writeTo(new HttpHeaders(), KEY)).isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -0,0 +1,30 @@
+package ru.ixlax.authservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Пользователи по ID (sub из JWT). */
+    public static final String USERS = "users";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.users:maximumSize=10000,expireAfterWrite=10m}") String usersSpec
+    ) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(USERS, Caffeine.from(usersSpec).build());
+        manager.setAllowNullValues(false);
+
+        // evict откладывается до коммита, чтобы параллельное чтение не закешировало старое состояние
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
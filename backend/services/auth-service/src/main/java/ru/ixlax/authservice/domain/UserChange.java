@@ -0,0 +1,34 @@
+package ru.ixlax.authservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Последнее изменение пользователя в ленте для реплик (см. V4__user_changes_feed.sql).
+ * Пишется только через {@link ru.ixlax.authservice.repository.UserChangeRepository#record}.
+ */
+@Entity
+@Table(name = "user_changes")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UserChange {
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "changed_at", nullable = false)
+    private OffsetDateTime changedAt;
+}
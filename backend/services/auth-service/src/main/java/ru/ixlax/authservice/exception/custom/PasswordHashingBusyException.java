@@ -0,0 +1,9 @@
+package ru.ixlax.authservice.exception.custom;
+
+import ru.ixlax.authservice.exception.ApiException;
+
+public class PasswordHashingBusyException extends ApiException {
+    public PasswordHashingBusyException(String message) {
+        super("AUTH_BUSY", message, 429);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.ixlax.authservice.exception.custom;
+
+import ru.ixlax.authservice.exception.ApiException;
+
+public class PasswordHashingTimeoutException extends ApiException {
+    public PasswordHashingTimeoutException(String message) {
+        super("AUTH_UNAVAILABLE", message, 503);
+    }
+}
@@ -1,15 +1,57 @@
 package ru.ixlax.authservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ru.ixlax.authservice.domain.RefreshToken;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
     void deleteByUser_Id(UUID userId);
 
     Optional<RefreshToken> findByUser_Id(UUID id);
+
+    /**
+     * Ротация одной строкой: срабатывает, только если старый хэш ещё на месте,
+     * поэтому повторное использование одного токена параллельно получит 0.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update RefreshToken t
+               set t.tokenHash = :newHash, t.expiresAt = :expiresAt
+             where t.id = :id and t.tokenHash = :oldHash
+            """)
+    int rotate(@Param("id") UUID id,
+               @Param("oldHash") String oldHash,
+               @Param("newHash") String newHash,
+               @Param("expiresAt") OffsetDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Удаляет не больше batchSize истёкших токенов. SKIP LOCKED позволяет нескольким
+     * инстансам чистить таблицу параллельно, не блокируя друг друга.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from refresh_tokens
+             where id in (
+                   select id from refresh_tokens
+                    where expires_at < :now
+                    limit :batchSize
+                    for update skip locked)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") OffsetDateTime now, @Param("batchSize") int batchSize);
 }
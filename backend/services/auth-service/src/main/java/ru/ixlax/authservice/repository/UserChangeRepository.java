@@ -0,0 +1,52 @@
+package ru.ixlax.authservice.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.ixlax.authservice.domain.Role;
+import ru.ixlax.authservice.domain.UserChange;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserChangeRepository extends JpaRepository<UserChange, UUID> {
+
+    /**
+     * Вызывается в той же транзакции, что и сохранение пользователя.
+     */
+    @Modifying
+    @Query(value = """
+            insert into user_changes (user_id, name, role)
+            values (:userId, :name, :role)
+            on conflict (user_id) do update
+               set name = excluded.name,
+                   role = excluded.role,
+                   version = nextval('user_changes_version_seq'),
+                   changed_at = clock_timestamp()
+            """, nativeQuery = true)
+    void record(@Param("userId") UUID userId, @Param("name") String name, @Param("role") String role);
+
+    /**
+     * changedBefore отсекает самые свежие строки: их транзакции могли ещё не закоммититься
+     * и иначе курсор version проскочил бы их.
+     */
+    @Query("""
+            select c from UserChange c
+            where c.version > :since and c.role in :roles and c.changedAt < :changedBefore
+            order by c.version
+            """)
+    List<UserChange> findChanges(@Param("since") long since,
+                                 @Param("roles") Collection<Role> roles,
+                                 @Param("changedBefore") OffsetDateTime changedBefore,
+                                 Limit limit);
+
+    /**
+     * Растёт при любом изменении пользователя — версия для ETag списка авторов.
+     */
+    @Query("select coalesce(max(c.version), 0) from UserChange c")
+    long findLatestVersion();
+}
@@ -1,9 +1,13 @@
 package ru.ixlax.authservice.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.ixlax.authservice.domain.User;
 import ru.ixlax.authservice.domain.Role;
+import ru.ixlax.authservice.repository.projection.AuthorNameView;
 
 import java.util.Optional;
 import java.util.Collection;
@@ -18,4 +22,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     List<User> findAllByIdIn(Collection<UUID> ids);
     List<User> findAllByIdInAndRoleIn(Collection<UUID> ids, Collection<Role> roles);
     List<User> findAllByRoleIn(Collection<Role> roles);
+
+    List<AuthorNameView> findNamesByIdInAndRoleIn(Collection<UUID> ids, Collection<Role> roles);
+
+    /**
+     * Keyset-страница авторов по id. Роли заданы литералами, чтобы планировщик
+     * мог использовать частичный индекс idx_users_authors_id.
+     */
+    @Query("""
+            select u.id as id, u.name as name from User u
+            where u.role in (ru.ixlax.authservice.domain.Role.TEACHER, ru.ixlax.authservice.domain.Role.ADMIN)
+            order by u.id
+            """)
+    List<AuthorNameView> findAuthorNamesPage(Limit limit);
+
+    @Query("""
+            select u.id as id, u.name as name from User u
+            where u.role in (ru.ixlax.authservice.domain.Role.TEACHER, ru.ixlax.authservice.domain.Role.ADMIN)
+              and u.id > :after
+            order by u.id
+            """)
+    List<AuthorNameView> findAuthorNamesPageAfter(@Param("after") UUID after, Limit limit);
 }
@@ -0,0 +1,8 @@
+package ru.ixlax.authservice.repository.projection;
+
+import java.util.UUID;
+
+public interface AuthorNameView {
+    UUID getId();
+    String getName();
+}
@@ -8,14 +8,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import ru.ixlax.authservice.domain.User;
-import ru.ixlax.authservice.repository.UserRepository;
+import ru.ixlax.authservice.domain.Role;
+import ru.ixlax.authservice.service.UserService;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -23,7 +27,8 @@ import java.util.UUID;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final GatewayIdentityVerifier identityVerifier;
 
     private static final String[] WHITELIST = {
             "/v3/api-docs", "/v3/api-docs/",
@@ -54,24 +59,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         String header = request.getHeader(HttpHeaders.AUTHORIZATION);
-        if (header == null || !header.startsWith("Bearer ")) {
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+
+        // через шлюз приходят уже проверенные claims в подписанных заголовках
+        Jwt trusted = identityVerifier.resolve(request, token);
+        if (trusted == null && token == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = header.substring(7);
         try {
-            var jwt = jwtService.parse(token);
-            String sub = jwt.getSubject();
-            String email = (String) jwt.getClaims().get("email");
+            var jwt = trusted != null ? trusted : jwtService.parse(token);
+            var principal = AuthenticatedUserPrincipal.from(jwt);
 
-            var user = userRepository.findByEmail(email).orElse(null);
-            if (user == null) {
+            // аккаунт мог быть удалён после выдачи токена; проверка идёт по кэшу, а не в БД на каждый запрос
+            if (userService.findById(principal.id()).isEmpty()) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            var principal = new AuthenticatedUserPrincipal(user);
             var auth = new UsernamePasswordAuthenticationToken(
                     principal,
                     null,
@@ -87,20 +93,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    public static class AuthenticatedUserPrincipal extends org.springframework.security.core.userdetails.User {
-        private final User user;
-
-        public AuthenticatedUserPrincipal(User user) {
-            super(
-                    user.getEmail(),
-                    user.getPasswordHash(),
-                    java.util.List.of(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+    /**
+     * Principal из claims токена (sub, email, name, role) — сущность User для него не загружается.
+     */
+    public record AuthenticatedUserPrincipal(UUID id, String email, String name, Role role) {
+
+        public static AuthenticatedUserPrincipal from(Jwt jwt) {
+            return new AuthenticatedUserPrincipal(
+                    UUID.fromString(jwt.getSubject()),
+                    jwt.getClaimAsString("email"),
+                    jwt.getClaimAsString("name"),
+                    Role.valueOf(jwt.getClaimAsString("role"))
             );
-            this.user = user;
         }
 
-        public User getUser() {
-            return user;
+        public List<GrantedAuthority> getAuthorities() {
+            return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
         }
     }
 }
@@ -0,0 +1,118 @@
+package ru.ixlax.authservice.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import ru.ixlax.authservice.exception.custom.PasswordHashingBusyException;
+import ru.ixlax.authservice.exception.custom.PasswordHashingTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt на отдельном ограниченном пуле, а не на потоках Tomcat.
+ * Переполненная очередь сразу даёт 429, слишком долгое ожидание — 503,
+ * поэтому волна логинов не занимает CPU, нужный дешёвым ручкам.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder encoder;
+    private final int strength;
+    private final Duration waitTimeout;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(
+            PasswordEncoder encoder,
+            MeterRegistry registry,
+            @Value("${app.password.bcrypt-strength:10}") int strength,
+            @Value("${app.password.pool-size:0}") int poolSize,
+            @Value("${app.password.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password.wait-timeout:5s}") Duration waitTimeout
+    ) {
+        this.encoder = encoder;
+        this.strength = strength;
+        this.waitTimeout = waitTimeout;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        ExecutorServiceMetrics.monitor(registry, executor, "bcrypt");
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode").register(registry);
+        this.matchTimer = Timer.builder("auth.password.hash").tag("op", "matches").register(registry);
+        this.rejected = Counter.builder("auth.password.rejected").register(registry);
+        Gauge.builder("auth.password.bcrypt.strength", () -> strength).register(registry);
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String hash) {
+        return run(() -> matchTimer.record(() -> encoder.matches(rawPassword, hash)));
+    }
+
+    /**
+     * Хэш сделан с другим cost, чем настроен сейчас — его стоит пересчитать при удачном логине.
+     */
+    public boolean needsRehash(String hash) {
+        if (hash == null) return false;
+        Matcher m = BCRYPT_COST.matcher(hash);
+        return m.find() && Integer.parseInt(m.group(1)) != strength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Слишком много запросов на вход, попробуйте позже");
+        }
+
+        try {
+            return future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingTimeoutException("Сервис авторизации перегружен, попробуйте позже");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingTimeoutException("Сервис авторизации перегружен, попробуйте позже");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
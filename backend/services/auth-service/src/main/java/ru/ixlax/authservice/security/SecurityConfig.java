@@ -50,7 +50,10 @@ public class SecurityConfig {
                                 "/api/auth/register",
                                 "/api/auth/login",
                                 "/api/auth/refresh",
-                                "/api/auth/authors"
+                                "/api/auth/authors",
+                                "/api/auth/authors/changes",
+                                "/api/auth/authors/batch",
+                                "/api/auth/authors/page"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
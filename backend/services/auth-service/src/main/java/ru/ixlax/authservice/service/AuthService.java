@@ -11,4 +11,8 @@ public interface AuthService {
     TokenResponse refresh(RefreshRequest req);
     void logout(String refreshToken);
     List<UserShortResponse> getAuthors(List<UUID> ids);
+    AuthorChangesResponse getAuthorChanges(long since, Integer limit);
+    List<AuthorNameResponse> getAuthorNames(List<UUID> ids);
+    AuthorPageResponse getAuthorsPage(UUID cursor, Integer limit);
+    long getAuthorsVersion();
 }
@@ -0,0 +1,11 @@
+package ru.ixlax.authservice.service;
+
+import ru.ixlax.authservice.domain.User;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserService {
+    Optional<User> findById(UUID id);
+    User save(User user);
+}
@@ -1,7 +1,8 @@
 package ru.ixlax.authservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import ru.ixlax.authservice.domain.RefreshToken;
 import ru.ixlax.authservice.domain.Role;
@@ -11,17 +12,27 @@ import ru.ixlax.authservice.exception.custom.RefreshTokenExpiredException;
 import ru.ixlax.authservice.exception.custom.UserAlreadyExistsException;
 import ru.ixlax.authservice.exception.custom.UserBadRequestException;
 import ru.ixlax.authservice.repository.RefreshTokenRepository;
+import ru.ixlax.authservice.repository.UserChangeRepository;
 import ru.ixlax.authservice.repository.UserRepository;
 import ru.ixlax.authservice.security.JwtService;
+import ru.ixlax.authservice.security.PasswordHasher;
+import ru.ixlax.authservice.security.TokenDigest;
 import ru.ixlax.authservice.service.AuthService;
+import ru.ixlax.authservice.service.UserService;
+import ru.ixlax.authservice.web.dto.AuthorChangeResponse;
+import ru.ixlax.authservice.web.dto.AuthorChangesResponse;
+import ru.ixlax.authservice.web.dto.AuthorNameResponse;
+import ru.ixlax.authservice.web.dto.AuthorPageResponse;
 import ru.ixlax.authservice.web.dto.LoginRequest;
 import ru.ixlax.authservice.web.dto.RefreshRequest;
 import ru.ixlax.authservice.web.dto.RegisterRequest;
 import ru.ixlax.authservice.web.dto.TokenResponse;
 import ru.ixlax.authservice.web.dto.UserShortResponse;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,10 +41,23 @@ import java.util.UUID;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository users;
+    private final UserService userService;
     private final RefreshTokenRepository refreshTokens;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwt;
 
+    private final UserChangeRepository userChanges;
+
+    private static final Duration REFRESH_TTL = Duration.ofDays(30);
+    private static final List<Role> AUTHOR_ROLES = List.of(Role.TEACHER, Role.ADMIN);
+    private static final int DEFAULT_CHANGES_PAGE = 500;
+    private static final int MAX_CHANGES_PAGE = 1000;
+    private static final int DEFAULT_AUTHORS_PAGE = 50;
+    private static final int MAX_AUTHORS_PAGE = 200;
+
+    @Value("${app.user-changes.visibility-lag:5s}")
+    private Duration changesVisibilityLag;
+
     @Override
     public TokenResponse register(RegisterRequest req) {
         if (Boolean.FALSE.equals(req.getIsAcceptPolicy())) {
@@ -51,20 +75,11 @@ public class AuthServiceImpl implements AuthService {
         var user = new User();
         user.setName(req.getName());
         user.setEmail(req.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(req.getPassword()));
+        user.setPasswordHash(passwordHasher.encode(req.getPassword()));
         user.setRole(role);
-        users.save(user);
+        userService.save(user);
 
-        refreshTokens.findByUser_Id(user.getId()).ifPresent(refreshTokens::delete);
-
-        RefreshToken rt = new RefreshToken();
-        rt.setUser(user);
-        rt.setToken(UUID.randomUUID().toString());
-        rt.setExpiresAt(OffsetDateTime.now().plusDays(30));
-        refreshTokens.save(rt);
-
-        String access = jwt.generateAccessToken(user);
-        return TokenResponse.bearer(access, rt.getToken());
+        return issueTokens(user);
     }
 
     @Override
@@ -72,25 +87,23 @@ public class AuthServiceImpl implements AuthService {
         var user = users.findByEmail(req.getEmail())
                 .orElseThrow(() -> new UserBadRequestException("Неверный email или пароль"));
 
-        if (!passwordEncoder.matches(req.getPassword(), user.getPasswordHash())) {
+        if (!passwordHasher.matches(req.getPassword(), user.getPasswordHash())) {
             throw new UserBadRequestException("Неверный email или пароль");
         }
 
-        refreshTokens.findByUser_Id(user.getId()).ifPresent(refreshTokens::delete);
-
-        RefreshToken rt = new RefreshToken();
-        rt.setUser(user);
-        rt.setToken(UUID.randomUUID().toString());
-        rt.setExpiresAt(OffsetDateTime.now().plusDays(30));
-        refreshTokens.save(rt);
+        // cost поменяли в конфиге — пароль известен только сейчас, пересчитываем хэш
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHasher.encode(req.getPassword()));
+            userService.save(user);
+        }
 
-        String access = jwt.generateAccessToken(user);
-        return TokenResponse.bearer(access, rt.getToken());
+        return issueTokens(user);
     }
 
     @Override
     public TokenResponse refresh(RefreshRequest req) {
-        var old = refreshTokens.findByToken(req.refreshToken())
+        String oldHash = TokenDigest.sha256(req.refreshToken());
+        var old = refreshTokens.findByTokenHash(oldHash)
                 .orElseThrow(() -> new RefreshTokenBadRequest("Неверный refresh токен"));
 
         if (old.isExpired()) {
@@ -98,26 +111,28 @@ public class AuthServiceImpl implements AuthService {
             throw new RefreshTokenExpiredException("Refresh токен истёк");
         }
 
-        var user = old.getUser();
-        refreshTokens.delete(old);
-        RefreshToken rt = new RefreshToken();
-        rt.setUser(user);
-        rt.setToken(UUID.randomUUID().toString());
-        rt.setExpiresAt(OffsetDateTime.now().plusDays(30));
-        refreshTokens.save(rt);
+        var user = userService.findById(old.getUser().getId())
+                .orElseThrow(() -> new RefreshTokenBadRequest("Неверный refresh токен"));
 
-        String access = jwt.generateAccessToken(user);
-        return TokenResponse.bearer(access, rt.getToken());
+        String refresh = newRefreshToken();
+        int rotated = refreshTokens.rotate(old.getId(), oldHash, TokenDigest.sha256(refresh),
+                OffsetDateTime.now().plus(REFRESH_TTL));
+        if (rotated == 0) {
+            // токен уже обменяли параллельным запросом
+            throw new RefreshTokenBadRequest("Неверный refresh токен");
+        }
+
+        return TokenResponse.bearer(jwt.generateAccessToken(user), refresh);
     }
 
     @Override
     public void logout(String refreshToken) {
-        refreshTokens.findByToken(refreshToken).ifPresent(refreshTokens::delete);
+        refreshTokens.deleteByTokenHash(TokenDigest.sha256(refreshToken));
     }
 
     @Override
     public List<UserShortResponse> getAuthors(List<UUID> ids) {
-        var roles = List.of(Role.TEACHER, Role.ADMIN);
+        var roles = AUTHOR_ROLES;
 
         var filteredIds = ids == null ? Collections.<UUID>emptyList() : ids;
         var result = filteredIds.isEmpty()
@@ -129,4 +144,67 @@ public class AuthServiceImpl implements AuthService {
                 .toList();
     }
 
+    @Override
+    public AuthorChangesResponse getAuthorChanges(long since, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_CHANGES_PAGE : Math.min(limit, MAX_CHANGES_PAGE);
+        var changedBefore = OffsetDateTime.now().minus(changesVisibilityLag);
+
+        var page = userChanges.findChanges(since, AUTHOR_ROLES, changedBefore, Limit.of(size + 1));
+        boolean hasMore = page.size() > size;
+        var items = page.stream()
+                .limit(size)
+                .map(AuthorChangeResponse::from)
+                .toList();
+        long next = items.isEmpty() ? since : items.get(items.size() - 1).version();
+        return new AuthorChangesResponse(items, next, hasMore);
+    }
+
+    @Override
+    public List<AuthorNameResponse> getAuthorNames(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return users.findNamesByIdInAndRoleIn(new HashSet<>(ids), AUTHOR_ROLES).stream()
+                .map(AuthorNameResponse::from)
+                .toList();
+    }
+
+    @Override
+    public AuthorPageResponse getAuthorsPage(UUID cursor, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_AUTHORS_PAGE : Math.min(limit, MAX_AUTHORS_PAGE);
+
+        var page = cursor == null
+                ? users.findAuthorNamesPage(Limit.of(size + 1))
+                : users.findAuthorNamesPageAfter(cursor, Limit.of(size + 1));
+        boolean hasMore = page.size() > size;
+        var items = page.stream()
+                .limit(size)
+                .map(AuthorNameResponse::from)
+                .toList();
+        UUID next = hasMore ? items.get(items.size() - 1).id() : null;
+        return new AuthorPageResponse(items, next, hasMore);
+    }
+
+    @Override
+    public long getAuthorsVersion() {
+        return userChanges.findLatestVersion();
+    }
+
+    private TokenResponse issueTokens(User user) {
+        refreshTokens.findByUser_Id(user.getId()).ifPresent(refreshTokens::delete);
+
+        String refresh = newRefreshToken();
+        RefreshToken rt = new RefreshToken();
+        rt.setUser(user);
+        rt.setTokenHash(TokenDigest.sha256(refresh));
+        rt.setExpiresAt(OffsetDateTime.now().plus(REFRESH_TTL));
+        refreshTokens.save(rt);
+
+        String access = jwt.generateAccessToken(user);
+        return TokenResponse.bearer(access, refresh);
+    }
+
+    private static String newRefreshToken() {
+        return UUID.randomUUID().toString();
+    }
 }
@@ -0,0 +1,45 @@
+package ru.ixlax.authservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.ixlax.authservice.repository.RefreshTokenRepository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Периодически вычищает истёкшие refresh токены короткими батчами,
+ * чтобы не держать длинную транзакцию и блокировки на всей таблице.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokens;
+
+    @Value("${app.refresh-tokens.purge-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.refresh-tokens.purge-max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(
+            initialDelayString = "${app.refresh-tokens.purge-initial-delay:PT1M}",
+            fixedDelayString = "${app.refresh-tokens.purge-interval:PT10M}"
+    )
+    public void purgeExpired() {
+        OffsetDateTime now = OffsetDateTime.now();
+        long total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = refreshTokens.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) break;
+        }
+        if (total > 0) {
+            log.info("Удалено истёкших refresh токенов: {}", total);
+        }
+    }
+}
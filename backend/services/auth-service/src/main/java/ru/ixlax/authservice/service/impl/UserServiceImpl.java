@@ -0,0 +1,43 @@
+package ru.ixlax.authservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ixlax.authservice.config.CacheConfig;
+import ru.ixlax.authservice.domain.User;
+import ru.ixlax.authservice.repository.UserChangeRepository;
+import ru.ixlax.authservice.repository.UserRepository;
+import ru.ixlax.authservice.service.UserService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Все изменения пользователя идут через {@link #save(User)}: так кэш не отдаёт устаревшую запись,
+ * а лента user_changes пишется в той же транзакции, что и сам пользователь.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserServiceImpl implements UserService {
+
+    private final UserRepository users;
+    private final UserChangeRepository userChanges;
+
+    @Override
+    @Cacheable(value = CacheConfig.USERS, key = "#id", unless = "#result == null")
+    public Optional<User> findById(UUID id) {
+        return users.findById(id);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = CacheConfig.USERS, key = "#result.id")
+    public User save(User user) {
+        // flush до записи в ленту: у user_changes внешний ключ на users
+        User saved = users.saveAndFlush(user);
+        userChanges.record(saved.getId(), saved.getName(), saved.getRole().name());
+        return saved;
+    }
+}
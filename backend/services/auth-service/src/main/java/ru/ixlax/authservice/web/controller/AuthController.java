@@ -5,9 +5,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.ixlax.authservice.security.JwtAuthFilter;
 import ru.ixlax.authservice.service.AuthService;
 import ru.ixlax.authservice.web.SwaggerRoleTags;
@@ -80,8 +82,8 @@ public class AuthController {
             @AuthenticationPrincipal JwtAuthFilter.AuthenticatedUserPrincipal principal
     ) {
         if (principal == null) return ResponseEntity.status(401).build();
-        var u = principal.getUser();
-        return ResponseEntity.ok(new UserMeResponse(u.getId(), u.getName(), u.getEmail(), u.getRole().name()));
+        return ResponseEntity.ok(new UserMeResponse(
+                principal.id(), principal.name(), principal.email(), principal.role().name()));
     }
 
     @Operation(
@@ -95,4 +97,52 @@ public class AuthController {
     ) {
         return ResponseEntity.ok(authService.getAuthors(ids));
     }
+
+    @Operation(
+            summary = "Лента изменений авторов",
+            description = "Изменения TEACHER/ADMIN с version > since по возрастанию. "
+                    + "Используется сервисами для инкрементальной синхронизации локальной реплики имён."
+    )
+    @Tag(name = PUBLIC)
+    @GetMapping("/authors/changes")
+    public ResponseEntity<AuthorChangesResponse> authorChanges(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(authService.getAuthorChanges(since, limit));
+    }
+
+    @Operation(
+            summary = "Имена авторов пачкой",
+            description = "Принимает до 500 id в теле запроса (без ограничения длины URL), возвращает только id и имя. "
+                    + "Неизвестные id и пользователи без роли TEACHER/ADMIN в ответ не попадают."
+    )
+    @Tag(name = PUBLIC)
+    @PostMapping("/authors/batch")
+    public ResponseEntity<List<AuthorNameResponse>> authorsBatch(@Valid @RequestBody AuthorBatchRequest req) {
+        return ResponseEntity.ok(authService.getAuthorNames(req.ids()));
+    }
+
+    @Operation(
+            summary = "Список авторов постранично",
+            description = "Keyset-пагинация по id: cursor — nextCursor из предыдущего ответа. "
+                    + "Ответ содержит ETag; пока пользователи не менялись, на If-None-Match вернётся 304."
+    )
+    @Tag(name = PUBLIC)
+    @GetMapping("/authors/page")
+    public ResponseEntity<AuthorPageResponse> authorsPage(
+            @RequestParam(name = "cursor", required = false) UUID cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest request
+    ) {
+        String etag = "\"authors-" + authService.getAuthorsVersion() + "-" + cursor + "-" + limit + "\"";
+        // версия читается по индексу; при совпадении саму страницу не выбираем
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(authService.getAuthorsPage(cursor, limit));
+    }
 }
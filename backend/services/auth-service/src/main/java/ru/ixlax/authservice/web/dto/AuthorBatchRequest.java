@@ -0,0 +1,14 @@
+package ru.ixlax.authservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Пакетный запрос имён авторов")
+public record AuthorBatchRequest(
+        @Schema(description = "ID авторов, не больше 500")
+        @NotNull @Size(max = 500) List<UUID> ids
+) {}
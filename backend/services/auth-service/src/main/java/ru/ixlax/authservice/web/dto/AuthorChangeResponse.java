@@ -0,0 +1,23 @@
+package ru.ixlax.authservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.ixlax.authservice.domain.UserChange;
+
+import java.util.UUID;
+
+@Schema(description = "Изменение автора в ленте для реплик")
+public record AuthorChangeResponse(
+        @Schema(description = "ID пользователя") UUID id,
+        @Schema(description = "Имя/отображаемое имя") String name,
+        @Schema(description = "Роль (TEACHER/ADMIN)") String role,
+        @Schema(description = "Версия изменения, монотонно растёт") long version
+) {
+    public static AuthorChangeResponse from(UserChange change) {
+        return new AuthorChangeResponse(
+                change.getUserId(),
+                change.getName(),
+                change.getRole().name(),
+                change.getVersion()
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package ru.ixlax.authservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница ленты изменений авторов")
+public record AuthorChangesResponse(
+        @Schema(description = "Изменения по возрастанию version") List<AuthorChangeResponse> items,
+        @Schema(description = "Передать как since в следующем запросе") long nextVersion,
+        @Schema(description = "Есть ли ещё изменения после nextVersion") boolean hasMore
+) {}
@@ -0,0 +1,16 @@
+package ru.ixlax.authservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.ixlax.authservice.repository.projection.AuthorNameView;
+
+import java.util.UUID;
+
+@Schema(description = "ID и имя автора")
+public record AuthorNameResponse(
+        @Schema(description = "ID пользователя") UUID id,
+        @Schema(description = "Имя/отображаемое имя") String name
+) {
+    public static AuthorNameResponse from(AuthorNameView view) {
+        return new AuthorNameResponse(view.getId(), view.getName());
+    }
+}
@@ -0,0 +1,13 @@
+package ru.ixlax.authservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Страница списка авторов")
+public record AuthorPageResponse(
+        @Schema(description = "Авторы по возрастанию id") List<AuthorNameResponse> items,
+        @Schema(description = "Передать как cursor в следующем запросе") UUID nextCursor,
+        @Schema(description = "Есть ли следующая страница") boolean hasMore
+) {}
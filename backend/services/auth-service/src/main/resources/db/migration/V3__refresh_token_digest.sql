@@ -0,0 +1,11 @@
+-- refresh токены храним только как SHA-256 (hex); сырое значение знает лишь клиент
+ALTER TABLE refresh_tokens ADD COLUMN token_hash VARCHAR(64);
+
+UPDATE refresh_tokens SET token_hash = encode(digest(token, 'sha256'), 'hex');
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,21 @@
+-- Лента изменений пользователей (transactional outbox) для реплик в других сервисах.
+-- Одна строка на пользователя: при каждом изменении version берёт следующее значение
+-- последовательности, потребитель читает строки с version > since.
+CREATE SEQUENCE IF NOT EXISTS user_changes_version_seq;
+
+CREATE TABLE IF NOT EXISTS user_changes
+(
+    user_id    UUID PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    name       VARCHAR(255) NOT NULL,
+    role       VARCHAR(255) NOT NULL,
+    version    BIGINT       NOT NULL DEFAULT nextval('user_changes_version_seq'),
+    changed_at TIMESTAMPTZ  NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_user_changes_version ON user_changes (version);
+
+INSERT INTO user_changes (user_id, name, role)
+SELECT id, name, role
+FROM users
+ORDER BY created_at
+ON CONFLICT (user_id) DO NOTHING;
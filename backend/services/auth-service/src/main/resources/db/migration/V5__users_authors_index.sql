@@ -0,0 +1,3 @@
+-- Частичный индекс по авторам: список TEACHER/ADMIN и keyset-обход по id идут по нему,
+-- а не по всей таблице users вместе со студентами.
+CREATE INDEX IF NOT EXISTS idx_users_authors_id ON users (id) WHERE role IN ('TEACHER', 'ADMIN');
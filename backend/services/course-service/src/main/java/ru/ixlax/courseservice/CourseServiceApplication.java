@@ -2,8 +2,10 @@ package ru.ixlax.courseservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CourseServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package ru.ixlax.courseservice.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Карточки курсов по ID. */
+    public static final String COURSES = "courses";
+
+    /** Страницы каталога по нормализованному фильтру. */
+    public static final String CATALOG = "catalog";
+
+    /** Скомпилированные ключи ответов тестов по ID теста. */
+    public static final String ANSWER_KEYS = "answerKeys";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.courses:maximumSize=10000,expireAfterWrite=10m}") String coursesSpec,
+            @Value("${app.cache.catalog:maximumSize=500,expireAfterWrite=60s}") String catalogSpec,
+            @Value("${app.cache.answer-keys:maximumSize=1000,expireAfterAccess=1h}") String answerKeysSpec
+    ) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(COURSES, Caffeine.from(coursesSpec).build());
+        manager.registerCustomCache(CATALOG, Caffeine.from(catalogSpec).build());
+        manager.registerCustomCache(ANSWER_KEYS, Caffeine.from(answerKeysSpec).build());
+        manager.setAllowNullValues(false);
+
+        // evict откладывается до коммита, чтобы параллельное чтение не закешировало старое состояние
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.ixlax.courseservice.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует в Hibernate функции полнотекстового поиска PostgreSQL, которых нет в JPA Criteria.
+ * Выражение документа должно совпадать с выражением GIN-индекса idx_courses_fts (V8),
+ * иначе планировщик не сможет использовать индекс.
+ */
+public class CourseSearchFunctionContributor implements FunctionContributor {
+
+    public static final String FTS_MATCH = "course_fts_match";
+    public static final String FTS_RANK = "course_fts_rank";
+
+    private static final String DOCUMENT = "to_tsvector('simple', coalesce(?1, '') || ' ' || coalesce(?2, ''))";
+    private static final String QUERY = "websearch_to_tsquery('simple', ?3)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        BasicTypeRegistry types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        contributions.getFunctionRegistry().registerPattern(
+                FTS_MATCH,
+                "(" + DOCUMENT + " @@ " + QUERY + ")",
+                types.resolve(StandardBasicTypes.BOOLEAN)
+        );
+        contributions.getFunctionRegistry().registerPattern(
+                FTS_RANK,
+                "ts_rank(" + DOCUMENT + ", " + QUERY + ")",
+                types.resolve(StandardBasicTypes.DOUBLE)
+        );
+    }
+}
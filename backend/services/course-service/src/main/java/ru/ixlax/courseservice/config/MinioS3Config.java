@@ -11,6 +11,9 @@ import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class MinioS3Config {
@@ -43,13 +46,34 @@ public class MinioS3Config {
                 .build();
     }
 
+    /**
+     * Общий пул для параллельных операций с S3 (загрузка ассетов и т.п.).
+     * Размер ограничивает суммарную нагрузку на MinIO от всех запросов сервиса.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService s3TransferExecutor(@Value("${app.s3.transfer.threads:16}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "s3-transfer-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Ссылки подписываются на публичный адрес MinIO: по ним грузит браузер,
+     * внутренний endpoint (minio:9000) ему недоступен.
+     */
     @Bean
-    public S3Presigner s3Presigner() {
+    public S3Presigner s3Presigner(@Value("${app.s3.presignEndpoint:${app.s3.publicBaseUrl}}") String presignEndpoint) {
         return S3Presigner.builder()
-                .endpointOverride(URI.create(endpoint))
+                .endpointOverride(URI.create(presignEndpoint))
                 .credentialsProvider(StaticCredentialsProvider.create(
                         AwsBasicCredentials.create(accessKey, secretKey)))
                 .region(Region.of(region))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyle)
+                        .build())
                 .build();
     }
 }
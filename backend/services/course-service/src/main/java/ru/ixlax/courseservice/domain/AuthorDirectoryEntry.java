@@ -0,0 +1,36 @@
+package ru.ixlax.courseservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Реплика имени автора из auth-service. Пишется только синхронизацией
+ * ({@link ru.ixlax.courseservice.service.AuthorDirectorySync}).
+ */
+@Entity
+@Table(name = "author_directory")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthorDirectoryEntry {
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false, length = 32)
+    private String role;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "synced_at", nullable = false)
+    private OffsetDateTime syncedAt;
+}
@@ -37,6 +37,15 @@ public class Course {
     @Column(name = "lessons_url")
     private String lessonsUrl;     // JSON «контент» (lessons.json)
 
+    // SHA-256 загруженных документов; null — документ загружен напрямую и хэш неизвестен
+    @Column(name = "structure_hash", length = 64)
+    private String structureHash;
+
+    @Column(name = "lessons_hash", length = 64)
+    private String lessonsHash;
+
+    // пишется только CourseRepository.applyRatingDelta вместе с rating_sum/rating_count
+    @Column(updatable = false)
     private Double rating;
     private boolean published;
 
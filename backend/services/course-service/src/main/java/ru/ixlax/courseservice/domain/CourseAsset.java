@@ -0,0 +1,50 @@
+package ru.ixlax.courseservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Запись манифеста курса: под каким логическим путём курс видит блоб {@code contentKey}.
+ * Пишется upsert-ом ({@link ru.ixlax.courseservice.repository.CourseAssetRepository#upsert}).
+ */
+@Entity
+@Table(name = "course_assets")
+@IdClass(CourseAsset.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseAsset {
+
+    @Id
+    @Column(name = "course_id", nullable = false, updatable = false)
+    private UUID courseId;
+
+    @Id
+    @Column(nullable = false, updatable = false, length = 1024)
+    private String path;
+
+    @Column(name = "content_key", nullable = false, length = 1024)
+    private String contentKey;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID courseId;
+        private String path;
+    }
+}
@@ -31,6 +31,10 @@ public class CourseTest {
     @Column(name = "questions_json", columnDefinition = "TEXT", nullable = false)
     private String questionsJson;
 
+    // вопросы без правильных ответов, готовые к отдаче студентам
+    @Column(name = "sanitized_questions_json", columnDefinition = "TEXT")
+    private String sanitizedQuestionsJson;
+
     @Column(name = "passing_score")
     private Integer passingScore;
 
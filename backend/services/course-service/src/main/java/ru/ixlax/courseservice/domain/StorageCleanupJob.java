@@ -0,0 +1,47 @@
+package ru.ixlax.courseservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Отложенное удаление в хранилище. Обрабатывается
+ * {@link ru.ixlax.courseservice.service.StorageCleanupWorker}.
+ * {@code prefix}, оканчивающийся на «/», — префикс удалённого курса; иначе это точный ключ
+ * вытесненной версии документа.
+ */
+@Entity
+@Table(name = "storage_cleanup_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageCleanupJob {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false, updatable = false)
+    private UUID courseId;
+
+    @Column(nullable = false, updatable = false, length = 1024)
+    private String prefix;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,49 @@
+package ru.ixlax.courseservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import ru.ixlax.courseservice.s3.UploadTarget;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Незавершённая multipart-загрузка в S3. Части хранятся в {@link UploadSessionPart}.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "course_id", nullable = false, updatable = false)
+    private UUID courseId;
+
+    @Column(name = "author_id", nullable = false, updatable = false)
+    private UUID authorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UploadTarget target;
+
+    @Column(name = "object_key", nullable = false, length = 1024)
+    private String objectKey;
+
+    @Column(name = "s3_upload_id", nullable = false, length = 1024)
+    private String s3UploadId;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
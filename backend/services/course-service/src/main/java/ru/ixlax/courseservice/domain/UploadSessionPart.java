@@ -0,0 +1,48 @@
+package ru.ixlax.courseservice.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Часть multipart-загрузки, которую S3 уже принял. Пишется upsert-ом
+ * ({@link ru.ixlax.courseservice.repository.UploadSessionPartRepository#upsert}), повторная
+ * отправка той же части просто обновляет etag.
+ */
+@Entity
+@Table(name = "upload_session_parts")
+@IdClass(UploadSessionPart.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionPart {
+
+    @Id
+    @Column(name = "session_id", nullable = false, updatable = false)
+    private UUID sessionId;
+
+    @Id
+    @Column(name = "part_number", nullable = false, updatable = false)
+    private int partNumber;
+
+    @Column(nullable = false)
+    private String etag;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "uploaded_at", nullable = false)
+    private OffsetDateTime uploadedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID sessionId;
+        private int partNumber;
+    }
+}
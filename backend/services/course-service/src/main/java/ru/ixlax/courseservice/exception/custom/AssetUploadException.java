@@ -0,0 +1,9 @@
+package ru.ixlax.courseservice.exception.custom;
+
+import ru.ixlax.courseservice.exception.ApiException;
+
+public class AssetUploadException extends ApiException {
+    public AssetUploadException(String message) {
+        super("ASSET_UPLOAD_FAILED", message, 502);
+    }
+}
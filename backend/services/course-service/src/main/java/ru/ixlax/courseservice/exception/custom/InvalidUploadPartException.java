@@ -0,0 +1,9 @@
+package ru.ixlax.courseservice.exception.custom;
+
+import ru.ixlax.courseservice.exception.ApiException;
+
+public class InvalidUploadPartException extends ApiException {
+    public InvalidUploadPartException(String message) {
+        super("UPLOAD_PART_INVALID", message, 400);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.ixlax.courseservice.exception.custom;
+
+import ru.ixlax.courseservice.exception.ApiException;
+
+public class UploadNotFoundException extends ApiException {
+    public UploadNotFoundException(String key) {
+        super("UPLOAD_NOT_FOUND", "Файл не найден в хранилище: " + key, 404);
+    }
+}
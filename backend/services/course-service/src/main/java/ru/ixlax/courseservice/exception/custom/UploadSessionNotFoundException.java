@@ -0,0 +1,9 @@
+package ru.ixlax.courseservice.exception.custom;
+
+import ru.ixlax.courseservice.exception.ApiException;
+
+public class UploadSessionNotFoundException extends ApiException {
+    public UploadSessionNotFoundException(String id) {
+        super("UPLOAD_SESSION_NOT_FOUND", "Сессия загрузки не найдена: " + id, 404);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.ixlax.courseservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ixlax.courseservice.domain.AuthorDirectoryEntry;
+
+import java.util.UUID;
+
+public interface AuthorDirectoryRepository extends JpaRepository<AuthorDirectoryEntry, UUID> {
+
+    @Query("select coalesce(max(a.version), 0) from AuthorDirectoryEntry a")
+    long findMaxVersion();
+
+    /**
+     * Идемпотентно: более старая версия не перезапишет более новую.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into author_directory (user_id, name, role, version, synced_at)
+            values (:userId, :name, :role, :version, now())
+            on conflict (user_id) do update
+               set name = excluded.name,
+                   role = excluded.role,
+                   version = excluded.version,
+                   synced_at = excluded.synced_at
+             where author_directory.version < excluded.version
+            """, nativeQuery = true)
+    int upsert(@Param("userId") UUID userId,
+               @Param("name") String name,
+               @Param("role") String role,
+               @Param("version") long version);
+}
@@ -0,0 +1,66 @@
+package ru.ixlax.courseservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ixlax.courseservice.domain.CourseAsset;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface CourseAssetRepository extends JpaRepository<CourseAsset, CourseAsset.Key> {
+
+    List<CourseAsset> findByCourseIdOrderByPath(UUID courseId);
+
+    boolean existsByContentKey(String contentKey);
+
+    /**
+     * Какие из ключей ещё упоминаются в манифестах (индекс idx_course_assets_content_key).
+     */
+    @Query("select distinct a.contentKey from CourseAsset a where a.contentKey in :keys")
+    Set<String> findReferencedContentKeys(Collection<String> keys);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into course_assets (course_id, path, content_key, size, content_type, updated_at)
+            values (:courseId, :path, :contentKey, :size, :contentType, now())
+            on conflict (course_id, path) do update
+               set content_key = excluded.content_key,
+                   size = excluded.size,
+                   content_type = excluded.content_type,
+                   updated_at = excluded.updated_at
+            """, nativeQuery = true)
+    int upsert(@Param("courseId") UUID courseId,
+               @Param("path") String path,
+               @Param("contentKey") String contentKey,
+               @Param("size") long size,
+               @Param("contentType") String contentType);
+
+    /**
+     * Копирует манифест. Блобы по содержимому общие и остаются как есть; ключи под префиксом
+     * исходного курса (прямые загрузки) переписываются на префикс копии.
+     */
+    @Modifying
+    @Query(value = """
+            insert into course_assets (course_id, path, content_key, size, content_type, updated_at)
+            select :targetId,
+                   a.path,
+                   case when starts_with(a.content_key, :sourcePrefix)
+                        then :targetPrefix || substr(a.content_key, length(:sourcePrefix) + 1)
+                        else a.content_key end,
+                   a.size,
+                   a.content_type,
+                   now()
+            from course_assets a
+            where a.course_id = :sourceId
+            """, nativeQuery = true)
+    int copyToCourse(@Param("sourceId") UUID sourceId,
+                     @Param("targetId") UUID targetId,
+                     @Param("sourcePrefix") String sourcePrefix,
+                     @Param("targetPrefix") String targetPrefix);
+}
@@ -2,6 +2,7 @@ package ru.ixlax.courseservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.ixlax.courseservice.domain.Course;
 import ru.ixlax.courseservice.repository.projection.AuthorAggregation;
@@ -14,12 +15,35 @@ public interface CourseRepository extends JpaRepository<Course, UUID>, JpaSpecif
     List<Course> getAllByAuthorId(UUID authorId);
     boolean existsByIdAndAuthorId(UUID courseID, UUID authorId);
 
+    boolean existsByStructureUrlOrLessonsUrl(String structureUrl, String lessonsUrl);
+
+    /**
+     * Имя берётся из локальной реплики author_directory; null — автор ещё не синхронизирован.
+     */
     @Query("""
-            select c.authorId as authorId, count(c) as coursesCount
+            select c.authorId as authorId, a.name as authorName, count(c) as coursesCount
             from Course c
+            left join AuthorDirectoryEntry a on a.userId = c.authorId
             where c.published = true
-            group by c.authorId
+            group by c.authorId, a.name
             order by count(c) desc
             """)
     List<AuthorAggregation> findPublishedAuthors();
+
+    /**
+     * Атомарно применяет изменение суммы/количества оценок и пересчитывает средний рейтинг.
+     * Правая часть SET видит значения строки до обновления.
+     */
+    @Modifying
+    @Query(value = """
+            update courses
+            set rating_sum   = rating_sum + :sumDelta,
+                rating_count = rating_count + :countDelta,
+                rating       = case
+                                   when rating_count + :countDelta = 0 then 0.0
+                                   else (rating_sum + :sumDelta)::double precision / (rating_count + :countDelta)
+                               end
+            where id = :courseId
+            """, nativeQuery = true)
+    int applyRatingDelta(UUID courseId, long sumDelta, int countDelta);
 }
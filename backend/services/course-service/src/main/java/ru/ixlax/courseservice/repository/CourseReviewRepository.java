@@ -1,7 +1,11 @@
 package ru.ixlax.courseservice.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.ixlax.courseservice.domain.CourseReview;
 
 import java.util.List;
@@ -12,8 +16,16 @@ public interface CourseReviewRepository extends JpaRepository<CourseReview, UUID
 
     List<CourseReview> findAllByCourseIdOrderByCreatedAtDesc(UUID courseId);
 
-    Optional<CourseReview> findByCourseIdAndUserId(UUID courseId, UUID userId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CourseReview> findForUpdateByCourseIdAndUserId(UUID courseId, UUID userId);
 
-    @Query("select avg(r.rating) from CourseReview r where r.course.id = :courseId")
-    Double calculateAverageRating(UUID courseId);
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from course_reviews
+            where id in (
+                select r.id from course_reviews r where r.course_id = :courseId limit :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteBatchByCourseId(UUID courseId, int batchSize);
 }
@@ -1,6 +1,9 @@
 package ru.ixlax.courseservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.ixlax.courseservice.domain.CourseTest;
 
 import java.util.Optional;
@@ -8,4 +11,14 @@ import java.util.UUID;
 
 public interface CourseTestRepository extends JpaRepository<CourseTest, UUID> {
     Optional<CourseTest> findByCourseId(UUID courseId);
+
+    @Modifying
+    @Query(value = """
+            insert into course_tests (course_id, title, questions_json, sanitized_questions_json, passing_score,
+                                      created_at, updated_at)
+            select :targetId, t.title, t.questions_json, t.sanitized_questions_json, t.passing_score, now(), now()
+            from course_tests t
+            where t.course_id = :sourceId
+            """, nativeQuery = true)
+    int copyToCourse(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId);
 }
@@ -1,8 +1,13 @@
 package ru.ixlax.courseservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.ixlax.courseservice.domain.Enrollment;
 import ru.ixlax.courseservice.domain.EnrollmentStatus;
+import ru.ixlax.courseservice.domain.LessonProgressStatus;
+import ru.ixlax.courseservice.repository.projection.EnrollmentProgressView;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +17,77 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, UUID> {
     Optional<Enrollment> findByCourseIdAndUserId(UUID courseId, UUID userId);
     List<Enrollment> findAllByUserId(UUID userId);
     long countByCourseIdAndStatus(UUID courseId, EnrollmentStatus status);
+
+    @Query("""
+            select
+                (select count(l) from Lesson l where l.course.id = e.course.id) as totalLessons,
+                (select count(lp) from LessonProgress lp
+                    where lp.enrollment.id = e.id and lp.status = :completed) as completedLessons,
+                (select lp.lesson.id from LessonProgress lp
+                    where lp.enrollment.id = e.id and lp.status = :completed
+                    order by lp.completedAt desc, lp.createdAt desc
+                    limit 1) as lastCompletedLessonId,
+                t.id as testId,
+                a.id as attemptId,
+                a.correctAnswers as attemptCorrectAnswers,
+                a.totalQuestions as attemptTotalQuestions,
+                a.passed as attemptPassed,
+                a.createdAt as attemptCreatedAt
+            from Enrollment e
+            left join CourseTest t on t.course.id = e.course.id
+            left join TestAttempt a on a.test.id = t.id and a.userId = e.userId
+                and a.id = (select a2.id from TestAttempt a2
+                            where a2.test.id = t.id and a2.userId = e.userId
+                            order by a2.createdAt desc, a2.id desc
+                            limit 1)
+            where e.id = :enrollmentId
+            """)
+    EnrollmentProgressView findProgressSnapshot(UUID enrollmentId, LessonProgressStatus completed);
+
+    /**
+     * Пересчитывает progress_percent/status/completed_at всех записей курса после
+     * добавления или удаления урока. Логика совпадает с EnrollmentServiceImpl.applySnapshot.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            update enrollments e
+            set progress_percent = s.percent,
+                status = case
+                             when s.total > 0 and s.done >= s.total then 'COMPLETED'
+                             when s.percent < 100 and e.status = 'COMPLETED' then 'ACTIVE'
+                             else e.status
+                         end,
+                completed_at = case
+                                   when s.total > 0 and s.done >= s.total then coalesce(e.completed_at, now())
+                                   when s.percent < 100 and e.status = 'COMPLETED' then null
+                                   else e.completed_at
+                               end,
+                updated_at = now()
+            from (
+                select en.id,
+                       tl.total,
+                       count(lp.id) as done,
+                       case
+                           when tl.total = 0 then 0
+                           else round(count(lp.id) * 100.0 / tl.total)::int
+                       end as percent
+                from enrollments en
+                cross join (select count(*) as total from lessons where course_id = :courseId) tl
+                left join lesson_progress lp on lp.enrollment_id = en.id and lp.status = 'COMPLETED'
+                where en.course_id = :courseId
+                group by en.id, tl.total
+            ) s
+            where e.id = s.id
+            """, nativeQuery = true)
+    int refreshProgressForCourse(UUID courseId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from enrollments
+            where id in (
+                select e.id from enrollments e where e.course_id = :courseId limit :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteBatchByCourseId(UUID courseId, int batchSize);
 }
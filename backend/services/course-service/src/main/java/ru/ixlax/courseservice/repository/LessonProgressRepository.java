@@ -1,6 +1,9 @@
 package ru.ixlax.courseservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.ixlax.courseservice.domain.LessonProgress;
 import ru.ixlax.courseservice.domain.LessonProgressStatus;
 
@@ -14,4 +17,39 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
             UUID enrollmentId,
             LessonProgressStatus status
     );
+
+    /**
+     * Отмечает урок завершённым одним upsert-ом. Урок проверяется на принадлежность курсу:
+     * если он не найден, вставки не происходит и возвращается 0.
+     */
+    @Modifying
+    @Query(value = """
+            insert into lesson_progress (enrollment_id, lesson_id, status, completed_at)
+            select :enrollmentId, l.id, 'COMPLETED', now()
+            from lessons l
+            where l.id = :lessonId and l.course_id = :courseId
+            on conflict (enrollment_id, lesson_id) do update
+                set status = excluded.status,
+                    completed_at = excluded.completed_at,
+                    updated_at = now()
+            """, nativeQuery = true)
+    int markCompleted(UUID enrollmentId, UUID lessonId, UUID courseId);
+
+    /**
+     * Удаляет до {@code batchSize} отметок прогресса по курсу. Вызывается в цикле перед удалением
+     * курса, чтобы каскад не держал блокировки на всей таблице разом.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from lesson_progress
+            where id in (
+                select lp.id
+                from lesson_progress lp
+                join enrollments e on e.id = lp.enrollment_id
+                where e.course_id = :courseId
+                limit :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteBatchByCourseId(UUID courseId, int batchSize);
 }
@@ -1,7 +1,12 @@
 package ru.ixlax.courseservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.ixlax.courseservice.domain.Lesson;
+import ru.ixlax.courseservice.domain.LessonProgressStatus;
+import ru.ixlax.courseservice.repository.projection.LessonOutlineView;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +16,36 @@ public interface LessonRepository extends JpaRepository<Lesson, UUID> {
     List<Lesson> findAllByCourseIdOrderByOrderIndexAscCreatedAtAsc(UUID courseId);
     Optional<Lesson> findByIdAndCourseId(UUID id, UUID courseId);
     long countByCourseId(UUID courseId);
+
+    /**
+     * Оглавление курса без колонки content. Для анонимного запроса (userId = null)
+     * completed всегда false.
+     */
+    @Query("""
+            select l.id as id,
+                   l.title as title,
+                   l.orderIndex as orderIndex,
+                   case when exists (
+                       select 1 from LessonProgress lp
+                       where lp.lesson.id = l.id
+                         and lp.enrollment.userId = :userId
+                         and lp.status = :completed
+                   ) then true else false end as completed
+            from Lesson l
+            where l.course.id = :courseId
+            order by l.orderIndex asc, l.createdAt asc
+            """)
+    List<LessonOutlineView> findOutline(UUID courseId, UUID userId, LessonProgressStatus completed);
+
+    /**
+     * Копирует уроки курса одним INSERT ... SELECT, контент не проходит через приложение.
+     */
+    @Modifying
+    @Query(value = """
+            insert into lessons (course_id, title, content, order_index, created_at, updated_at)
+            select :targetId, l.title, l.content, l.order_index, now(), now()
+            from lessons l
+            where l.course_id = :sourceId
+            """, nativeQuery = true)
+    int copyToCourse(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId);
 }
@@ -0,0 +1,39 @@
+package ru.ixlax.courseservice.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ixlax.courseservice.domain.StorageCleanupJob;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface StorageCleanupJobRepository extends JpaRepository<StorageCleanupJob, UUID> {
+
+    List<StorageCleanupJob> findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(OffsetDateTime now, Limit limit);
+
+    /**
+     * Берёт задачу в работу, сдвигая next_attempt_at на время аренды. 0 — задачу уже взял другой
+     * экземпляр сервиса; если обработчик упадёт, задача вернётся по истечении аренды.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update StorageCleanupJob j
+               set j.nextAttemptAt = :leaseUntil
+             where j.id = :id
+               and j.nextAttemptAt <= :now
+            """)
+    int claim(UUID id, OffsetDateTime now, OffsetDateTime leaseUntil);
+
+    /**
+     * Снимает отложенное удаление ключа, который снова стал текущим документом курса.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from StorageCleanupJob j where j.prefix = :key")
+    int cancelByKey(String key);
+}
@@ -1,6 +1,9 @@
 package ru.ixlax.courseservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import ru.ixlax.courseservice.domain.TestAttempt;
 
 import java.util.List;
@@ -10,4 +13,18 @@ import java.util.UUID;
 public interface TestAttemptRepository extends JpaRepository<TestAttempt, UUID> {
     List<TestAttempt> findAllByTestIdAndUserIdOrderByCreatedAtDesc(UUID testId, UUID userId);
     Optional<TestAttempt> findTopByTestIdAndUserIdOrderByCreatedAtDesc(UUID testId, UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from test_attempts
+            where id in (
+                select a.id
+                from test_attempts a
+                join course_tests t on t.id = a.test_id
+                where t.course_id = :courseId
+                limit :batchSize
+            )
+            """, nativeQuery = true)
+    int deleteBatchByCourseId(UUID courseId, int batchSize);
 }
@@ -0,0 +1,31 @@
+package ru.ixlax.courseservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import ru.ixlax.courseservice.domain.UploadSessionPart;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UploadSessionPartRepository extends JpaRepository<UploadSessionPart, UploadSessionPart.Key> {
+
+    List<UploadSessionPart> findBySessionIdOrderByPartNumber(UUID sessionId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into upload_session_parts (session_id, part_number, etag, size, uploaded_at)
+            values (:sessionId, :partNumber, :etag, :size, now())
+            on conflict (session_id, part_number) do update
+               set etag = excluded.etag,
+                   size = excluded.size,
+                   uploaded_at = excluded.uploaded_at
+            """, nativeQuery = true)
+    int upsert(@Param("sessionId") UUID sessionId,
+               @Param("partNumber") int partNumber,
+               @Param("etag") String etag,
+               @Param("size") long size);
+}
@@ -0,0 +1,28 @@
+package ru.ixlax.courseservice.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.ixlax.courseservice.domain.UploadSession;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    List<UploadSession> findByCreatedAtBeforeOrderByCreatedAtAscIdAsc(OffsetDateTime before, Limit limit);
+
+    /**
+     * Следующая страница просроченных сессий после (createdAt, id) последней просмотренной:
+     * сессии, которые не удалось отменить, остаются позади и не блокируют остальные.
+     */
+    @Query("""
+            select s from UploadSession s
+             where s.createdAt < :before
+               and (s.createdAt > :afterCreatedAt
+                    or (s.createdAt = :afterCreatedAt and s.id > :afterId))
+             order by s.createdAt, s.id
+            """)
+    List<UploadSession> findExpiredAfter(OffsetDateTime before, OffsetDateTime afterCreatedAt, UUID afterId, Limit limit);
+}
@@ -4,5 +4,6 @@ import java.util.UUID;
 
 public interface AuthorAggregation {
     UUID getAuthorId();
+    String getAuthorName();
     long getCoursesCount();
 }
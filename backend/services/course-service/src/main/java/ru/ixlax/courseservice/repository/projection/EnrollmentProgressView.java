@@ -0,0 +1,20 @@
+package ru.ixlax.courseservice.repository.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Снимок прогресса записи на курс одним запросом: счётчики уроков, последний
+ * завершённый урок, наличие теста и последняя попытка пользователя.
+ */
+public interface EnrollmentProgressView {
+    long getTotalLessons();
+    long getCompletedLessons();
+    UUID getLastCompletedLessonId();
+    UUID getTestId();
+    UUID getAttemptId();
+    Integer getAttemptCorrectAnswers();
+    Integer getAttemptTotalQuestions();
+    Boolean getAttemptPassed();
+    OffsetDateTime getAttemptCreatedAt();
+}
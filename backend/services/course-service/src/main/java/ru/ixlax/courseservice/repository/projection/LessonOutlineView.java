@@ -0,0 +1,10 @@
+package ru.ixlax.courseservice.repository.projection;
+
+import java.util.UUID;
+
+public interface LessonOutlineView {
+    UUID getId();
+    String getTitle();
+    Integer getOrderIndex();
+    boolean getCompleted();
+}
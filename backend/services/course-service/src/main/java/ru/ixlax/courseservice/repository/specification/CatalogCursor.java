@@ -0,0 +1,48 @@
+package ru.ixlax.courseservice.repository.specification;
+
+import ru.ixlax.courseservice.domain.Course;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Позиция последней отданной карточки каталога: (rating, createdAt, id).
+ * Клиенту отдаётся как непрозрачная base64url-строка.
+ */
+public record CatalogCursor(double rating, OffsetDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static CatalogCursor of(Course course) {
+        return new CatalogCursor(
+                course.getRating() == null ? 0.0 : course.getRating(),
+                course.getCreatedAt(),
+                course.getId()
+        );
+    }
+
+    public String encode() {
+        String raw = rating + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CatalogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Некорректный курсор каталога");
+            }
+            return new CatalogCursor(
+                    Double.parseDouble(parts[0]),
+                    OffsetDateTime.parse(parts[1]),
+                    UUID.fromString(parts[2])
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный курсор каталога", e);
+        }
+    }
+}
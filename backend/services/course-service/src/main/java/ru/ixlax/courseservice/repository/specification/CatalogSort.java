@@ -0,0 +1,48 @@
+package ru.ixlax.courseservice.repository.specification;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+
+/**
+ * Порядок выдачи каталога. Каждый вариант заканчивается тай-брейкерами (createdAt, id),
+ * чтобы порядок был полностью детерминированным и по нему можно было строить keyset-курсор.
+ */
+public enum CatalogSort {
+
+    RATING_DESC(true, Sort.Direction.DESC),
+    RATING_ASC(true, Sort.Direction.ASC),
+    NEWEST(false, Sort.Direction.DESC),
+    OLDEST(false, Sort.Direction.ASC);
+
+    private final boolean byRating;
+    private final Sort.Direction direction;
+
+    CatalogSort(boolean byRating, Sort.Direction direction) {
+        this.byRating = byRating;
+        this.direction = direction;
+    }
+
+    public static CatalogSort of(String key) {
+        String normalized = key == null ? "rating_desc" : key.toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "rating_asc" -> RATING_ASC;
+            case "newest" -> NEWEST;
+            case "oldest" -> OLDEST;
+            default -> RATING_DESC;
+        };
+    }
+
+    public boolean byRating() {
+        return byRating;
+    }
+
+    public Sort.Direction direction() {
+        return direction;
+    }
+
+    public Sort toSort() {
+        Sort tail = Sort.by(direction, "createdAt", "id");
+        return byRating ? Sort.by(direction, "rating").and(tail) : tail;
+    }
+}
@@ -1,8 +1,16 @@
 package ru.ixlax.courseservice.repository.specification;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import ru.ixlax.courseservice.domain.Course;
 
+import static ru.ixlax.courseservice.config.CourseSearchFunctionContributor.FTS_MATCH;
+import static ru.ixlax.courseservice.config.CourseSearchFunctionContributor.FTS_RANK;
+
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 public final class CourseSpecifications {
@@ -22,6 +30,39 @@ public final class CourseSpecifications {
         );
     }
 
+    /**
+     * Полнотекстовое совпадение (GIN по tsvector) либо подстрока в названии/описании
+     * (GIN по триграммам), чтобы частично введённые слова по-прежнему находились.
+     */
+    public static Specification<Course> matchesSearch(String text) {
+        Specification<Course> substring = titleOrDescriptionContains(text);
+        return (root, query, cb) -> cb.or(
+                cb.isTrue(cb.function(FTS_MATCH, Boolean.class,
+                        root.get("title"), root.get("description"), cb.literal(text))),
+                substring.toPredicate(root, query, cb)
+        );
+    }
+
+    /**
+     * Сортировка по релевантности: ранг tsvector, затем триграммная близость названия,
+     * затем рейтинг и id как тай-брейкеры.
+     */
+    public static Specification<Course> orderByRelevance(String text) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(
+                        cb.desc(cb.function(FTS_RANK, Double.class,
+                                root.get("title"), root.get("description"), cb.literal(text))),
+                        cb.desc(cb.function("similarity", Double.class,
+                                cb.lower(root.get("title")), cb.literal(text.toLowerCase()))),
+                        cb.desc(root.get("rating")),
+                        cb.desc(root.get("id"))
+                );
+            }
+            return null;
+        };
+    }
+
     public static Specification<Course> authorEquals(UUID authorId) {
         return (root, query, cb) -> cb.equal(root.get("authorId"), authorId);
     }
@@ -29,4 +70,35 @@ public final class CourseSpecifications {
     public static Specification<Course> ratingGte(Double rating) {
         return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rating"), rating);
     }
+
+    /**
+     * Keyset-условие «строго после курсора» для заданного порядка каталога:
+     * (rating, createdAt, id) > / < (cursor.rating, cursor.createdAt, cursor.id).
+     */
+    public static Specification<Course> after(CatalogSort sort, CatalogCursor cursor) {
+        return (root, query, cb) -> {
+            boolean asc = sort.direction() == Sort.Direction.ASC;
+            Expression<OffsetDateTime> createdAt = root.get("createdAt");
+            Expression<UUID> id = root.get("id");
+
+            Predicate tail = cb.or(
+                    beyond(cb, createdAt, cursor.createdAt(), asc),
+                    cb.and(cb.equal(createdAt, cursor.createdAt()), beyond(cb, id, cursor.id(), asc))
+            );
+            if (!sort.byRating()) {
+                return tail;
+            }
+
+            Expression<Double> rating = root.get("rating");
+            return cb.or(
+                    beyond(cb, rating, cursor.rating(), asc),
+                    cb.and(cb.equal(rating, cursor.rating()), tail)
+            );
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate beyond(
+            CriteriaBuilder cb, Expression<? extends T> path, T value, boolean asc) {
+        return asc ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
 }
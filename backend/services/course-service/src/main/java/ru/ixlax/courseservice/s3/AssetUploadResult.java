@@ -0,0 +1,27 @@
+package ru.ixlax.courseservice.s3;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Результат загрузки одного ассета")
+public record AssetUploadResult(
+        @Schema(description = "Имя файла") String name,
+        @Schema(description = "Путь внутри хранилища курса") String path,
+        @Schema(description = "Публичный URL, если файл загружен") String url,
+        @Schema(description = "Ключ блоба по содержимому (blobs/sha256/..)") String contentKey,
+        @Schema(description = "Размер в байтах") Long size,
+        @Schema(description = "Content-Type файла") String contentType,
+        @Schema(description = "true — такой файл уже был в хранилище, повторно не передавался") boolean deduplicated,
+        @Schema(description = "Текст ошибки, если загрузить не удалось") String error
+) {
+    public static AssetUploadResult ok(String name, String path, StoredBlob blob) {
+        return new AssetUploadResult(name, path, blob.url(), blob.contentKey(), blob.size(), blob.contentType(), !blob.uploaded(), null);
+    }
+
+    public static AssetUploadResult failed(String name, String path, String error) {
+        return new AssetUploadResult(name, path, null, null, null, null, false, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -1,23 +1,93 @@
 package ru.ixlax.courseservice.s3;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import ru.ixlax.courseservice.repository.CourseAssetRepository;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CourseStorageService {
 
+    /** Общий для всех курсов префикс блобов; удаление префикса курса их не трогает. */
+    public static final String BLOB_PREFIX = "blobs/sha256/";
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    /** Предел DeleteObjects на один запрос. */
+    private static final int DELETE_BATCH = 1000;
+
     private final S3Client s3;
+    private final S3Presigner presigner;
+    private final CourseAssetRepository assetManifest;
+    private final ExecutorService s3TransferExecutor;
+
+    @Value("${app.s3.presign-ttl:15m}")
+    private Duration presignTtl;
+
+    /** Сколько файлов одного запроса грузится одновременно. */
+    @Value("${app.s3.transfer.per-request-concurrency:4}")
+    private int perRequestConcurrency;
+
+    /** Сколько раз повторять DeleteObjects для ключей, вернувшихся с ошибкой. */
+    @Value("${app.s3.cleanup.delete-attempts:3}")
+    private int deleteAttempts;
+
+    @Value("${app.s3.cleanup.delete-retry-delay:200ms}")
+    private Duration deleteRetryDelay;
+
+    /** Сколько CopyObject одного клона выполняется одновременно. */
+    @Value("${app.s3.transfer.copy-concurrency:8}")
+    private int copyConcurrency;
 
     @Value("${app.s3.bucket}")
     private String bucket;
@@ -33,6 +103,16 @@ public class CourseStorageService {
         return publicBaseUrl + "/" + bucket + "/" + key;
     }
 
+    public String publicUrl(String key) {
+        return url(key);
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable t = ex;
+        while (t.getCause() != null && t.getCause() != t) t = t.getCause();
+        return t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName();
+    }
+
     private String ext(String filename) {
         int i = filename.lastIndexOf(".");
         return (i < 0) ? "" : filename.substring(i);
@@ -45,14 +125,15 @@ public class CourseStorageService {
     public String uploadFile(UUID id, String fileName, MultipartFile mf) {
         String key = id + "/" + fileName;
 
-        try {
+        // поток из временного файла multipart, без копии всего файла в heap; SDK его не закрывает
+        try (InputStream in = mf.getInputStream()) {
             s3.putObject(
                     PutObjectRequest.builder()
                             .bucket(bucket)
                             .key(key)
                             .contentType(mf.getContentType())
                             .build(),
-                    RequestBody.fromBytes(mf.getBytes())
+                    RequestBody.fromInputStream(in, mf.getSize())
             );
         } catch (Exception e) {
             throw new RuntimeException("Ошибка загрузки файла: " + fileName, e);
@@ -61,21 +142,40 @@ public class CourseStorageService {
         return url(key);
     }
 
-    public String uploadString(UUID id, String fileName, String content) {
-        String key = id + "/" + fileName;
+    /**
+     * Кладёт JSON-документ курса (structure / lessons) сжатым gzip под версионированным ключом
+     * {@code <id>/<name>-<hash>.json}. Содержимое по ключу не меняется, поэтому объект можно
+     * кэшировать навсегда; браузер распакует его сам по Content-Encoding.
+     *
+     * @param sha256 {@link ContentHash#sha256(String)} от {@code json}
+     */
+    public String putJsonDocument(UUID id, String name, String sha256, String json) {
+        String key = id + "/" + name + "-" + sha256.substring(0, 16) + ".json";
 
         s3.putObject(
                 PutObjectRequest.builder()
                         .bucket(bucket)
                         .key(key)
-                        .contentType("application/json")
+                        .contentType("application/json; charset=utf-8")
+                        .contentEncoding("gzip")
+                        .cacheControl(IMMUTABLE)
                         .build(),
-                RequestBody.fromString(content)
+                RequestBody.fromBytes(gzip(json))
         );
 
         return url(key);
     }
 
+    private static byte[] gzip(String content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(512, content.length() / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
     public String uploadPreview(UUID id, MultipartFile preview) {
         String ext = ext(preview.getOriginalFilename());
         return uploadFile(id, "preview" + ext, preview);
@@ -94,22 +194,384 @@ public class CourseStorageService {
     }
 
     /* ============================================================
-       BULK ASSETS
+       CONTENT-ADDRESSED ASSETS
        ============================================================ */
 
-    public void uploadAssets(UUID id, List<MultipartFile> assets) {
-        if (assets == null) return;
+    /**
+     * Кладёт файл под ключ по SHA-256 содержимого. Хэш считается потоком по временному файлу
+     * multipart; если такой блоб уже есть и на него ссылается манифест, PUT пропускается —
+     * повторная загрузка стоит чтения с диска, а не передачи. Блоб без ссылок перезаписывается:
+     * это обновляет LastModified, и {@link #deleteOrphanBlobs} его не тронет в течение grace-окна.
+     */
+    public StoredBlob putBlob(MultipartFile mf) {
+        String contentKey;
+        try (InputStream in = mf.getInputStream()) {
+            contentKey = blobKey(ContentHash.sha256(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать файл: " + mf.getOriginalFilename(), e);
+        }
+
+        if (assetManifest.existsByContentKey(contentKey) && objectSize(contentKey).isPresent()) {
+            return new StoredBlob(contentKey, mf.getSize(), mf.getContentType(), url(contentKey), false);
+        }
+
+        try (InputStream in = mf.getInputStream()) {
+            s3.putObject(
+                    PutObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(contentKey)
+                            .contentType(mf.getContentType())
+                            // содержимое по ключу никогда не меняется
+                            .cacheControl(IMMUTABLE)
+                            .build(),
+                    RequestBody.fromInputStream(in, mf.getSize())
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать файл: " + mf.getOriginalFilename(), e);
+        }
+        return new StoredBlob(contentKey, mf.getSize(), mf.getContentType(), url(contentKey), true);
+    }
+
+    /**
+     * Грузит ассеты параллельно (не больше perRequestConcurrency за раз на общем пуле)
+     * и возвращает результат по каждому файлу; ошибка одного файла не прерывает остальные.
+     */
+    public List<AssetUploadResult> uploadAssets(List<MultipartFile> assets) {
+        if (assets == null || assets.isEmpty()) return List.of();
+
+        Semaphore permits = new Semaphore(Math.max(1, perRequestConcurrency));
+        List<CompletableFuture<AssetUploadResult>> futures = new ArrayList<>(assets.size());
 
         for (MultipartFile f : assets) {
-            String safe = "assets/" + Objects.requireNonNullElse(f.getOriginalFilename(), UUID.randomUUID() + ".bin");
-            uploadFile(id, safe, f);
+            String name = Objects.requireNonNullElse(f.getOriginalFilename(), UUID.randomUUID() + ".bin");
+            String path = "assets/" + name;
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.add(CompletableFuture.completedFuture(AssetUploadResult.failed(name, path, "Загрузка прервана")));
+                continue;
+            }
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> AssetUploadResult.ok(name, path, putBlob(f)), s3TransferExecutor)
+                    .exceptionally(ex -> AssetUploadResult.failed(name, path, rootMessage(ex)))
+                    .whenComplete((r, ex) -> permits.release()));
         }
+
+        return futures.stream().map(CompletableFuture::join).toList();
     }
 
-    public String putAsset(UUID id, String subPath, MultipartFile file) {
+    public AssetUploadResult putAsset(UUID id, String subPath, MultipartFile file) {
+        String name = Objects.requireNonNullElse(file.getOriginalFilename(), UUID.randomUUID() + ".bin");
         if (subPath == null || subPath.isBlank()) {
-            subPath = "assets/" + Objects.requireNonNullElse(file.getOriginalFilename(), UUID.randomUUID() + ".bin");
+            subPath = "assets/" + name;
+        }
+        return AssetUploadResult.ok(name, subPath, putBlob(file));
+    }
+
+    private static String blobKey(String sha256) {
+        return BLOB_PREFIX + sha256.substring(0, 2) + "/" + sha256;
+    }
+
+    /* ============================================================
+       COPY (clone)
+       ============================================================ */
+
+    public static String prefix(UUID id) {
+        return id + "/";
+    }
+
+    /**
+     * Ключ версионированного JSON-документа курса по его публичному URL. Пусто, если URL не
+     * указывает на документ под префиксом этого курса (например, старый неверсионированный).
+     */
+    public Optional<String> documentKey(UUID id, String documentUrl) {
+        String base = url(prefix(id));
+        if (documentUrl == null || !documentUrl.startsWith(base)) return Optional.empty();
+
+        String key = documentUrl.substring(publicBaseUrl.length() + bucket.length() + 2);
+        String name = key.substring(prefix(id).length());
+        return name.contains("/") || !name.matches(".+-[0-9a-f]{16}\\.json")
+                ? Optional.empty()
+                : Optional.of(key);
+    }
+
+    /**
+     * Копирует все объекты под префиксом курса {@code from} под префикс {@code to} через
+     * CopyObject: байты не выходят из хранилища. Копии идут параллельно, не больше
+     * copyConcurrency за раз.
+     *
+     * @return ключи, которые скопировать не удалось
+     */
+    public List<String> copyPrefix(UUID from, UUID to) {
+        String source = prefix(from);
+        String target = prefix(to);
+
+        List<String> keys = new ArrayList<>();
+        s3.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                        .bucket(bucket)
+                        .prefix(source)
+                        .build())
+                .contents()
+                .forEach(o -> keys.add(o.key()));
+
+        Semaphore permits = new Semaphore(Math.max(1, copyConcurrency));
+        List<CompletableFuture<String>> futures = new ArrayList<>(keys.size());
+
+        for (String key : keys) {
+            String targetKey = target + key.substring(source.length());
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.add(CompletableFuture.completedFuture(key));
+                continue;
+            }
+            futures.add(CompletableFuture
+                    .supplyAsync(() -> {
+                        s3.copyObject(CopyObjectRequest.builder()
+                                .sourceBucket(bucket)
+                                .sourceKey(key)
+                                .destinationBucket(bucket)
+                                .destinationKey(targetKey)
+                                .build());
+                        return (String) null;
+                    }, s3TransferExecutor)
+                    .exceptionally(ex -> {
+                        log.warn("Не удалось скопировать {} → {}: {}", key, targetKey, rootMessage(ex));
+                        return key;
+                    })
+                    .whenComplete((r, ex) -> permits.release()));
+        }
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * URL объекта курса {@code from} → тот же объект под префиксом {@code to}.
+     * Прочие URL (блобы, внешние ссылки) возвращаются как есть.
+     */
+    public String rebaseUrl(String url, UUID from, UUID to) {
+        if (url == null) return null;
+        String source = url(prefix(from));
+        return url.startsWith(source) ? url(prefix(to)) + url.substring(source.length()) : url;
+    }
+
+    /* ============================================================
+       CLEANUP (course delete)
+       ============================================================ */
+
+    /**
+     * Удаляет всё под префиксом: отменяет незавершённые multipart-загрузки, затем удаляет
+     * объекты страницами ListObjectsV2 по 1000 ключей через DeleteObjects. Ключи, которые
+     * DeleteObjects вернул с ошибкой, повторяются с растущей паузой.
+     *
+     * @return сколько объектов удалено
+     * @throws IllegalStateException если часть ключей так и не удалилась
+     */
+    public int deletePrefix(String prefix) {
+        s3.listMultipartUploadsPaginator(ListMultipartUploadsRequest.builder()
+                        .bucket(bucket)
+                        .prefix(prefix)
+                        .build())
+                .uploads()
+                .forEach(u -> abortMultipart(u.key(), u.uploadId()));
+
+        int deleted = 0;
+        for (ListObjectsV2Response page : s3.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .maxKeys(DELETE_BATCH)
+                .build())) {
+            List<String> keys = page.contents().stream().map(S3Object::key).toList();
+            if (!keys.isEmpty()) {
+                deleted += deleteBatch(keys);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Удаляет один объект по точному ключу. Отсутствующий ключ ошибкой не считается.
+     */
+    public void deleteObject(String key) {
+        s3.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build());
+    }
+
+    /**
+     * Удаляет блобы, на которые не ссылается ни один манифест и которые не менялись с
+     * {@code modifiedBefore}. Блобы перебираются страницами по 1000 ключей, ссылки проверяются
+     * одним запросом на страницу.
+     *
+     * @return сколько блобов удалено
+     */
+    public int deleteOrphanBlobs(Instant modifiedBefore) {
+        int deleted = 0;
+        for (ListObjectsV2Response page : s3.listObjectsV2Paginator(ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(BLOB_PREFIX)
+                .maxKeys(DELETE_BATCH)
+                .build())) {
+            List<String> candidates = page.contents().stream()
+                    .filter(o -> o.lastModified().isBefore(modifiedBefore))
+                    .map(S3Object::key)
+                    .toList();
+            if (candidates.isEmpty()) continue;
+
+            Set<String> referenced = assetManifest.findReferencedContentKeys(candidates);
+            List<String> orphans = candidates.stream().filter(k -> !referenced.contains(k)).toList();
+            if (!orphans.isEmpty()) {
+                deleted += deleteBatch(orphans);
+            }
+        }
+        return deleted;
+    }
+
+    private int deleteBatch(List<String> keys) {
+        List<String> pending = keys;
+        for (int attempt = 1; ; attempt++) {
+            DeleteObjectsResponse response = s3.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucket)
+                    .delete(Delete.builder()
+                            .objects(pending.stream().map(k -> ObjectIdentifier.builder().key(k).build()).toList())
+                            .quiet(true)
+                            .build())
+                    .build());
+
+            if (response.errors().isEmpty()) {
+                return keys.size();
+            }
+            pending = response.errors().stream().map(S3Error::key).toList();
+            if (attempt >= deleteAttempts) {
+                throw new IllegalStateException("Не удалось удалить " + pending.size() + " объектов, например "
+                        + pending.get(0) + ": " + response.errors().get(0).message());
+            }
+            try {
+                Thread.sleep(deleteRetryDelay.toMillis() << (attempt - 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Удаление прервано", e);
+            }
+        }
+    }
+
+    /* ============================================================
+       DIRECT UPLOADS (presigned PUT)
+       ============================================================ */
+
+    /**
+     * Ссылка на PUT прямо в бакет: байты идут из браузера в MinIO, минуя сервис.
+     */
+    public PresignedUpload presignPut(String key, String contentType) {
+        PutObjectRequest.Builder put = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key);
+        if (contentType != null && !contentType.isBlank()) {
+            put.contentType(contentType);
+        }
+
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(presignTtl)
+                .putObjectRequest(put.build())
+                .build());
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) headers.put(name, String.join(",", values));
+        });
+
+        return new PresignedUpload(
+                key,
+                presigned.httpRequest().method().name(),
+                presigned.url().toString(),
+                headers,
+                url(key),
+                presigned.expiration()
+        );
+    }
+
+    /**
+     * Размер объекта, если он есть в бакете (HEAD).
+     */
+    public OptionalLong objectSize(String key) {
+        try {
+            return OptionalLong.of(s3.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build()).contentLength());
+        } catch (NoSuchKeyException e) {
+            return OptionalLong.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) return OptionalLong.empty();
+            throw e;
+        }
+    }
+
+    /* ============================================================
+       MULTIPART (resumable uploads)
+       ============================================================ */
+
+    public String createMultipart(String key, String contentType) {
+        CreateMultipartUploadRequest.Builder req = CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key);
+        if (contentType != null && !contentType.isBlank()) {
+            req.contentType(contentType);
+        }
+        return s3.createMultipartUpload(req.build()).uploadId();
+    }
+
+    /**
+     * Стримит одну часть в S3 без буферизации в памяти. Возвращает ETag части.
+     */
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream in, long size) {
+        return s3.uploadPart(
+                UploadPartRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength(size)
+                        .build(),
+                RequestBody.fromInputStream(in, size)
+        ).eTag();
+    }
+
+    /**
+     * @param etags номер части → ETag
+     */
+    public void completeMultipart(String key, String uploadId, Map<Integer, String> etags) {
+        List<CompletedPart> parts = etags.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> CompletedPart.builder().partNumber(e.getKey()).eTag(e.getValue()).build())
+                .toList();
+
+        s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build());
+    }
+
+    /**
+     * Отменяет загрузку и освобождает уже принятые части. Уже отменённая загрузка — не ошибка.
+     */
+    public void abortMultipart(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (NoSuchUploadException e) {
+            log.debug("Multipart {} для {} уже закрыт", uploadId, key);
         }
-        return uploadFile(id, subPath, file);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package ru.ixlax.courseservice.s3;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Schema(description = "Ссылка для загрузки файла напрямую в хранилище")
+public record PresignedUpload(
+        @Schema(description = "Ключ объекта; передать в /uploads/complete") String key,
+        @Schema(description = "HTTP-метод загрузки", example = "PUT") String method,
+        @Schema(description = "Presigned URL") String uploadUrl,
+        @Schema(description = "Заголовки, которые нужно отправить вместе с PUT") Map<String, String> headers,
+        @Schema(description = "Публичный URL файла после загрузки") String publicUrl,
+        @Schema(description = "До какого момента ссылка действительна") Instant expiresAt
+) {}
@@ -0,0 +1,8 @@
+package ru.ixlax.courseservice.s3;
+
+/**
+ * Блоб в хранилище, адресованный по содержимому.
+ *
+ * @param uploaded false — такой блоб уже был, передачи не было
+ */
+public record StoredBlob(String contentKey, long size, String contentType, String url, boolean uploaded) {}
@@ -0,0 +1,53 @@
+package ru.ixlax.courseservice.s3;
+
+import java.util.UUID;
+
+/**
+ * Куда в хранилище курса кладётся файл при прямой загрузке (presigned PUT / multipart).
+ */
+public enum UploadTarget {
+    ASSET,
+    PREVIEW,
+    STRUCTURE,
+    LESSONS;
+
+    /**
+     * Ключ объекта для файла. Из имени берётся только последний сегмент, чтобы нельзя было
+     * выйти за пределы префикса курса.
+     */
+    public String key(UUID courseId, String fileName) {
+        return switch (this) {
+            case ASSET -> courseId + "/assets/" + safeName(fileName);
+            case PREVIEW -> courseId + "/preview" + ext(fileName);
+            case STRUCTURE -> courseId + "/structure.json";
+            case LESSONS -> courseId + "/lessons.json";
+        };
+    }
+
+    /**
+     * Проверяет, что ключ мог быть выдан этому курсу для этой цели.
+     */
+    public boolean owns(UUID courseId, String key) {
+        if (key == null || key.contains("..")) return false;
+        return switch (this) {
+            case ASSET -> key.startsWith(courseId + "/assets/") && key.length() > (courseId + "/assets/").length();
+            case PREVIEW -> key.startsWith(courseId + "/preview") && key.indexOf('/', (courseId + "/").length()) < 0;
+            case STRUCTURE, LESSONS -> key.equals(key(courseId, null));
+        };
+    }
+
+    private static String safeName(String fileName) {
+        String name = fileName == null ? "" : fileName.replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1).trim();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            return UUID.randomUUID() + ".bin";
+        }
+        return name;
+    }
+
+    private static String ext(String fileName) {
+        String name = safeName(fileName);
+        int i = name.lastIndexOf('.');
+        return i < 0 ? "" : name.substring(i);
+    }
+}
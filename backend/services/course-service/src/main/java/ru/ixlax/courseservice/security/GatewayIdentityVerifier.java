@@ -0,0 +1,96 @@
+package ru.ixlax.courseservice.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Быстрый путь аутентификации: шлюз уже проверил JWT и передал подписанные заголовки X-User-*.
+ * Сверяем HMAC-подпись внутренним секретом и собираем {@link Jwt} из заголовков без разбора токена.
+ * Формат подписи совпадает с GatewayIdentity в api-gateway.
+ */
+@Component
+public class GatewayIdentityVerifier {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String USER_EMAIL = "X-User-Email";
+    public static final String USER_NAME = "X-User-Name";
+    public static final String EXPIRES = "X-User-Expires";
+    public static final String SIGNATURE = "X-Identity-Signature";
+
+    private static final String VERSION = "upme-identity-v1";
+
+    private final SecretKeySpec key;
+
+    public GatewayIdentityVerifier(@Value("${app.identity.secret:${JWT_SECRET}}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * @return Jwt с claims sub/role/email/name или null, если заголовков нет, подпись не сошлась, срок истёк
+     * или не указан (без срока подписанные заголовки жили бы вечно — тогда проверяется сам токен).
+     */
+    public Jwt resolve(HttpServletRequest request, String token) {
+        String signature = request.getHeader(SIGNATURE);
+        String userId = request.getHeader(USER_ID);
+        if (signature == null || userId == null || userId.isBlank()) return null;
+
+        String role = header(request, USER_ROLE);
+        String email = header(request, USER_EMAIL);
+        String encodedName = header(request, USER_NAME);
+        String expires = header(request, EXPIRES);
+        if (expires.isEmpty()) return null;
+
+        byte[] expected = sign(userId, role, email, encodedName, expires);
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+
+        Instant expiresAt;
+        try {
+            expiresAt = Instant.ofEpochSecond(Long.parseLong(expires));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (Instant.now().isAfter(expiresAt)) return null;
+
+        Jwt.Builder jwt = Jwt.withTokenValue(token != null ? token : "gateway")
+                .header("alg", "HS256")
+                .subject(userId)
+                .expiresAt(expiresAt);
+        if (!role.isEmpty()) jwt.claim("role", role);
+        if (!email.isEmpty()) jwt.claim("email", email);
+        if (!encodedName.isEmpty()) jwt.claim("name", URLDecoder.decode(encodedName, StandardCharsets.UTF_8));
+        return jwt.build();
+    }
+
+    private byte[] sign(String... parts) {
+        try {
+            Mac mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac.doFinal((VERSION + "\n" + String.join("\n", parts)).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Не удалось проверить заголовки личности", e);
+        }
+    }
+
+    private static String header(HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value == null ? "" : value;
+    }
+}
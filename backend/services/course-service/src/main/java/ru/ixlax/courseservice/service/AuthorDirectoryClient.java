@@ -1,30 +1,131 @@
 package ru.ixlax.courseservice.service;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.*;
 
+/**
+ * Имена авторов из auth-service.
+ * <ul>
+ *     <li>кэш id → имя с TTL; неизвестные id кэшируются отдельно с коротким TTL (negative caching);</li>
+ *     <li>одновременные промахи по одним и тем же id ждут один запрос (AsyncLoadingCache);</li>
+ *     <li>таймауты соединения/чтения и circuit breaker: медленный auth-service не тормозит каталог;</li>
+ *     <li>метрики: cache.* (authorNames), course.author-directory.request, resilience4j.circuitbreaker.*.</li>
+ * </ul>
+ * При ошибке возвращаются только закэшированные имена — ошибки не кэшируются.
+ * Для синхронизации локальной реплики есть {@link #fetchChanges(long, int)}.
+ */
 @Slf4j
 @Component
 public class AuthorDirectoryClient {
 
+    /** Лимит POST /api/auth/authors/batch. */
+    private static final int BATCH_SIZE = 500;
+
     private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final AsyncLoadingCache<UUID, AuthorName> cache;
+    private final Timer requestTimer;
+    private final Timer failureTimer;
 
     public AuthorDirectoryClient(
             RestClient.Builder builder,
-            @Value("${app.auth.url:http://auth-service:8081}") String authBaseUrl
+            MeterRegistry registry,
+            @Value("${app.auth.url:http://auth-service:8081}") String authBaseUrl,
+            @Value("${app.auth.directory.connect-timeout:500ms}") Duration connectTimeout,
+            @Value("${app.auth.directory.read-timeout:2s}") Duration readTimeout,
+            @Value("${app.auth.directory.cache-ttl:10m}") Duration cacheTtl,
+            @Value("${app.auth.directory.negative-ttl:1m}") Duration negativeTtl,
+            @Value("${app.auth.directory.cache-size:10000}") long cacheSize
     ) {
+        // JDK HttpClient держит пул keep-alive соединений сам
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+
         this.restClient = builder
                 .baseUrl(authBaseUrl)
+                .requestFactory(requestFactory)
                 .build();
+
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(5)
+                .failureRateThreshold(50)
+                .slowCallDurationThreshold(readTimeout)
+                .waitDurationInOpenState(Duration.ofSeconds(30))
+                .permittedNumberOfCallsInHalfOpenState(2)
+                .build());
+        this.circuitBreaker = breakers.circuitBreaker("authDirectory");
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(breakers).bindTo(registry);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<UUID, AuthorName>() {
+                    @Override
+                    public long expireAfterCreate(UUID key, AuthorName value, long currentTime) {
+                        return (value.name() == null ? negativeTtl : cacheTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID key, AuthorName value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID key, AuthorName value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                // загрузка идёт в потоке вызывающего; остальные ждут тот же future
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync(new CacheLoader<>() {
+                    @Override
+                    public AuthorName load(UUID key) {
+                        return loadAll(Set.of(key)).get(key);
+                    }
+
+                    @Override
+                    public Map<UUID, AuthorName> loadAll(Set<? extends UUID> keys) {
+                        try {
+                            return fetch(keys);
+                        } catch (CallNotPermittedException ex) {
+                            log.debug("auth-service недоступен (circuit breaker открыт), отдаём имена из кэша");
+                        } catch (RuntimeException ex) {
+                            log.warn("Не удалось получить имена авторов из auth-service: {}", ex.getMessage());
+                        }
+                        // пустой результат ничего не кладёт в кэш: при следующем запросе попробуем снова
+                        return Map.of();
+                    }
+                });
+        CaffeineCacheMetrics.monitor(registry, cache, "authorNames");
+
+        this.requestTimer = Timer.builder("course.author-directory.request")
+                .tag("outcome", "success").register(registry);
+        this.failureTimer = Timer.builder("course.author-directory.request")
+                .tag("outcome", "error").register(registry);
     }
 
     public Map<UUID, String> fetchAuthorNames(List<UUID> ids) {
@@ -32,26 +133,72 @@ public class AuthorDirectoryClient {
             return Collections.emptyMap();
         }
 
+        Map<UUID, AuthorName> resolved;
         try {
-            List<AuthAuthorResponse> authors = restClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/api/auth/authors")
-                            .queryParam("ids", ids.stream().map(UUID::toString).toArray())
-                            .build())
-                    .retrieve()
-                    .body(new ParameterizedTypeReference<>() {});
-
-            if (authors == null) {
-                return Collections.emptyMap();
-            }
+            resolved = cache.synchronous().getAll(new LinkedHashSet<>(ids));
+        } catch (RuntimeException ex) {
+            log.warn("Не удалось получить имена авторов: {}", ex.getMessage());
+            resolved = cache.synchronous().getAllPresent(ids);
+        }
 
-            return authors.stream()
-                    .collect(Collectors.toMap(AuthAuthorResponse::id, AuthAuthorResponse::name));
-        } catch (Exception ex) {
-            log.warn("Не удалось получить имена авторов из auth-service: {}", ex.getMessage());
-            return Collections.emptyMap();
+        Map<UUID, String> names = new HashMap<>();
+        resolved.forEach((id, author) -> {
+            if (author.name() != null) names.put(id, author.name());
+        });
+        return names;
+    }
+
+    /**
+     * Страница ленты изменений авторов (version > since). Ошибки пробрасываются — их обрабатывает синхронизация.
+     */
+    public AuthorChanges fetchChanges(long since, int limit) {
+        return circuitBreaker.executeSupplier(() -> restClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/auth/authors/changes")
+                        .queryParam("since", since)
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .body(AuthorChanges.class));
+    }
+
+    private Map<UUID, AuthorName> fetch(Set<? extends UUID> ids) {
+        Map<UUID, AuthorName> result = new HashMap<>();
+        List<UUID> pending = new ArrayList<>(ids);
+        // POST с телом вместо ?ids=...: длина URL больше не ограничивает размер пачки
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            List<AuthAuthorResponse> authors = circuitBreaker.executeSupplier(() -> {
+                long start = System.nanoTime();
+                try {
+                    List<AuthAuthorResponse> body = restClient.post()
+                            .uri("/api/auth/authors/batch")
+                            .body(new AuthorBatchRequest(chunk))
+                            .retrieve()
+                            .body(new ParameterizedTypeReference<List<AuthAuthorResponse>>() {});
+                    requestTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                    return body;
+                } catch (RuntimeException ex) {
+                    failureTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                    throw ex;
+                }
+            });
+            if (authors != null) {
+                authors.forEach(a -> result.put(a.id(), new AuthorName(a.name())));
+            }
         }
+        // id, которых нет в ответе, запоминаем как неизвестные
+        ids.forEach(id -> result.putIfAbsent(id, new AuthorName(null)));
+        return result;
     }
 
+    private record AuthorName(String name) {}
+
     private record AuthAuthorResponse(UUID id, String name) {}
+
+    private record AuthorBatchRequest(List<UUID> ids) {}
+
+    public record AuthorChange(UUID id, String name, String role, long version) {}
+
+    public record AuthorChanges(List<AuthorChange> items, long nextVersion, boolean hasMore) {}
 }
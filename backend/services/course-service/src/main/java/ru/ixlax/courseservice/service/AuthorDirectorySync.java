@@ -0,0 +1,53 @@
+package ru.ixlax.courseservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.ixlax.courseservice.repository.AuthorDirectoryRepository;
+
+/**
+ * Подтягивает изменения авторов из auth-service в таблицу author_directory.
+ * Курсор — max(version) в локальной таблице, поэтому после рестарта синхронизация
+ * продолжается с места остановки, а повторная доставка ничего не ломает.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthorDirectorySync {
+
+    private final AuthorDirectoryClient client;
+    private final AuthorDirectoryRepository directory;
+
+    @Value("${app.auth.directory.sync-page-size:500}")
+    private int pageSize;
+
+    @Value("${app.auth.directory.sync-max-pages:20}")
+    private int maxPages;
+
+    @Scheduled(
+            initialDelayString = "${app.auth.directory.sync-initial-delay:PT10S}",
+            fixedDelayString = "${app.auth.directory.sync-interval:PT30S}"
+    )
+    public void sync() {
+        long since = directory.findMaxVersion();
+        int applied = 0;
+        try {
+            for (int i = 0; i < maxPages; i++) {
+                var page = client.fetchChanges(since, pageSize);
+                for (var change : page.items()) {
+                    directory.upsert(change.id(), change.name(), change.role(), change.version());
+                    applied++;
+                }
+                since = page.nextVersion();
+                if (!page.hasMore()) break;
+            }
+        } catch (Exception ex) {
+            log.warn("Синхронизация авторов прервана на version={}: {}", since, ex.getMessage());
+        }
+        if (applied > 0) {
+            log.info("Синхронизировано изменений авторов: {}, version={}", applied, since);
+        }
+    }
+}
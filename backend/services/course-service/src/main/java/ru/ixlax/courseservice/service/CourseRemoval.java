@@ -0,0 +1,64 @@
+package ru.ixlax.courseservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.ixlax.courseservice.domain.StorageCleanupJob;
+import ru.ixlax.courseservice.repository.CourseRepository;
+import ru.ixlax.courseservice.repository.CourseReviewRepository;
+import ru.ixlax.courseservice.repository.EnrollmentRepository;
+import ru.ixlax.courseservice.repository.LessonProgressRepository;
+import ru.ixlax.courseservice.repository.StorageCleanupJobRepository;
+import ru.ixlax.courseservice.repository.TestAttemptRepository;
+import ru.ixlax.courseservice.s3.CourseStorageService;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Удаление курса. Самые большие дочерние таблицы (прогресс, попытки тестов, записи, отзывы)
+ * чистятся порциями, каждая в своей короткой транзакции, чтобы не держать блокировки на горячих
+ * таблицах. Последняя транзакция удаляет сам курс (остаток уходит каскадом) и ставит в очередь
+ * очистку его префикса в хранилище ({@link StorageCleanupWorker}). Блобы ассетов, оставшиеся
+ * без ссылок, удалит {@link StorageCleanupWorker#sweepOrphanBlobs()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseRemoval {
+
+    private final CourseRepository courses;
+    private final LessonProgressRepository progress;
+    private final TestAttemptRepository attempts;
+    private final EnrollmentRepository enrollments;
+    private final CourseReviewRepository reviews;
+    private final StorageCleanupJobRepository cleanupJobs;
+    private final TransactionTemplate tx;
+
+    @Value("${app.courses.delete-chunk-size:1000}")
+    private int chunkSize;
+
+    public void remove(UUID courseId) {
+        deleteInChunks(() -> progress.deleteBatchByCourseId(courseId, chunkSize));
+        deleteInChunks(() -> attempts.deleteBatchByCourseId(courseId, chunkSize));
+        deleteInChunks(() -> enrollments.deleteBatchByCourseId(courseId, chunkSize));
+        deleteInChunks(() -> reviews.deleteBatchByCourseId(courseId, chunkSize));
+
+        tx.executeWithoutResult(status -> {
+            courses.deleteById(courseId);
+            cleanupJobs.save(StorageCleanupJob.builder()
+                    .courseId(courseId)
+                    .prefix(CourseStorageService.prefix(courseId))
+                    .nextAttemptAt(OffsetDateTime.now())
+                    .build());
+        });
+    }
+
+    private void deleteInChunks(IntSupplier batch) {
+        int deleted;
+        do {
+            deleted = batch.getAsInt();
+        } while (deleted >= chunkSize);
+    }
+}
@@ -1,10 +1,17 @@
 package ru.ixlax.courseservice.service;
 
 import org.springframework.web.multipart.MultipartFile;
+import ru.ixlax.courseservice.s3.AssetUploadResult;
+import ru.ixlax.courseservice.s3.PresignedUpload;
+import ru.ixlax.courseservice.web.dto.CompleteUploadRequest;
 import ru.ixlax.courseservice.web.dto.CourseRequest;
 import ru.ixlax.courseservice.web.dto.CourseResponse;
 import ru.ixlax.courseservice.web.dto.CatalogFilter;
+import ru.ixlax.courseservice.web.dto.CourseAssetResponse;
 import ru.ixlax.courseservice.web.dto.CourseAuthorResponse;
+import ru.ixlax.courseservice.web.dto.CoursePageResponse;
+import ru.ixlax.courseservice.web.dto.PresignUploadRequest;
+import ru.ixlax.courseservice.web.dto.UploadCompleteResponse;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,7 +27,10 @@ public interface CourseService {
             List<MultipartFile> assets
     ) throws Exception;
 
+    CourseResponse cloneCourse(UUID id, UUID authorId, boolean isAdmin);
+
     List<CourseResponse> getAll(CatalogFilter filter);
+    CoursePageResponse getPage(CatalogFilter filter, String cursor, Integer limit);
     List<CourseAuthorResponse> getAuthors();
     List<CourseResponse> getMy(UUID authorId);
     CourseResponse getById(UUID id);
@@ -44,4 +54,9 @@ public interface CourseService {
     CourseResponse putLessonsJson(UUID id, UUID authorId, boolean isAdmin, String json);
 
     String uploadAsset(UUID id, UUID authorId, boolean isAdmin, String subPath, MultipartFile file);
+    List<AssetUploadResult> uploadAssets(UUID id, UUID authorId, boolean isAdmin, List<MultipartFile> files);
+    List<CourseAssetResponse> getAssets(UUID id, UUID authorId, boolean isAdmin);
+
+    PresignedUpload presignUpload(UUID id, UUID authorId, boolean isAdmin, PresignUploadRequest req);
+    UploadCompleteResponse completeUpload(UUID id, UUID authorId, boolean isAdmin, CompleteUploadRequest req);
 }
@@ -1,5 +1,6 @@
 package ru.ixlax.courseservice.service;
 
+import ru.ixlax.courseservice.web.dto.LessonOutlineResponse;
 import ru.ixlax.courseservice.web.dto.LessonRequest;
 import ru.ixlax.courseservice.web.dto.LessonResponse;
 
@@ -12,6 +13,10 @@ public interface LessonService {
 
     List<LessonResponse> getByCourse(UUID courseId, UUID requesterId, boolean isAdmin);
 
+    List<LessonOutlineResponse> getOutline(UUID courseId, UUID requesterId, boolean isAdmin);
+
+    LessonResponse getLesson(UUID courseId, UUID lessonId, UUID requesterId, boolean isAdmin);
+
     LessonResponse update(UUID courseId, UUID lessonId, UUID authorId, boolean isAdmin, LessonRequest request);
 
     void delete(UUID courseId, UUID lessonId, UUID authorId, boolean isAdmin);
@@ -0,0 +1,125 @@
+package ru.ixlax.courseservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.ixlax.courseservice.domain.StorageCleanupJob;
+import ru.ixlax.courseservice.repository.CourseRepository;
+import ru.ixlax.courseservice.repository.StorageCleanupJobRepository;
+import ru.ixlax.courseservice.s3.CourseStorageService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Разбирает очередь storage_cleanup_jobs: удаляет префиксы удалённых курсов и вытесненные
+ * версии документов из хранилища.
+ * Неудачная задача откладывается с экспоненциальной паузой и повторяется, пока не пройдёт.
+ * Отдельно по расписанию удаляет общие блобы ассетов, оставшиеся без ссылок.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageCleanupWorker {
+
+    private final StorageCleanupJobRepository jobs;
+    private final CourseStorageService storage;
+    private final CourseRepository courses;
+
+    @Value("${app.s3.cleanup.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.s3.cleanup.lease:PT10M}")
+    private Duration lease;
+
+    @Value("${app.s3.cleanup.retry-base:PT1M}")
+    private Duration retryBase;
+
+    @Value("${app.s3.cleanup.retry-max:PT1H}")
+    private Duration retryMax;
+
+    @Value("${app.s3.cleanup.blob-grace:PT24H}")
+    private Duration blobGrace;
+
+    @Scheduled(
+            initialDelayString = "${app.s3.cleanup.initial-delay:PT20S}",
+            fixedDelayString = "${app.s3.cleanup.interval:PT30S}"
+    )
+    public void run() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<StorageCleanupJob> due;
+        try {
+            due = jobs.findByNextAttemptAtLessThanEqualOrderByNextAttemptAt(now, Limit.of(batchSize));
+        } catch (Exception ex) {
+            log.warn("Не удалось прочитать очередь очистки хранилища: {}", ex.getMessage());
+            return;
+        }
+
+        for (StorageCleanupJob job : due) {
+            if (jobs.claim(job.getId(), now, now.plus(lease)) == 0) continue;
+            process(job);
+        }
+    }
+
+    private void process(StorageCleanupJob job) {
+        try {
+            if (job.getPrefix().endsWith("/")) {
+                int deleted = storage.deletePrefix(job.getPrefix());
+                log.info("Хранилище курса {} очищено: удалено объектов {}", job.getCourseId(), deleted);
+            } else {
+                deleteDocument(job.getPrefix());
+            }
+            jobs.deleteById(job.getId());
+        } catch (Exception ex) {
+            int attempts = job.getAttempts() + 1;
+            job.setAttempts(attempts);
+            job.setNextAttemptAt(OffsetDateTime.now().plus(backoff(attempts)));
+            job.setLastError(ex.getMessage());
+            jobs.save(job);
+            log.warn("Очистка хранилища курса {} не удалась (попытка {}): {}",
+                    job.getCourseId(), attempts, ex.getMessage());
+        }
+    }
+
+    /**
+     * Вытесненная версия документа удаляется, только если ни один курс снова на неё не указывает:
+     * тот же JSON, сохранённый повторно, получает тот же ключ.
+     */
+    private void deleteDocument(String key) {
+        String url = storage.publicUrl(key);
+        if (courses.existsByStructureUrlOrLessonsUrl(url, url)) {
+            log.info("Документ {} снова используется, удаление отменено", key);
+            return;
+        }
+        storage.deleteObject(key);
+    }
+
+    /**
+     * Удаляет блобы ассетов, на которые больше не ссылается ни один курс. Grace-окно по
+     * LastModified защищает только что загруженные блобы, чей манифест ещё не записан.
+     */
+    @Scheduled(
+            initialDelayString = "${app.s3.cleanup.blob-sweep-initial-delay:PT5M}",
+            fixedDelayString = "${app.s3.cleanup.blob-sweep-interval:PT6H}"
+    )
+    public void sweepOrphanBlobs() {
+        try {
+            int deleted = storage.deleteOrphanBlobs(Instant.now().minus(blobGrace));
+            if (deleted > 0) {
+                log.info("Удалено блобов без ссылок: {}", deleted);
+            }
+        } catch (Exception ex) {
+            log.warn("Очистка блобов без ссылок прервана: {}", ex.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBase.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(retryMax) > 0 ? retryMax : delay;
+    }
+}
@@ -0,0 +1,77 @@
+package ru.ixlax.courseservice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.ixlax.courseservice.domain.UploadSession;
+import ru.ixlax.courseservice.repository.UploadSessionRepository;
+import ru.ixlax.courseservice.s3.CourseStorageService;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Отменяет брошенные multipart-загрузки: иначе принятые части так и лежат в бакете,
+ * занимая место, но не видны как объекты.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UploadSessionCleanup {
+
+    private final UploadSessionRepository sessions;
+    private final CourseStorageService storage;
+
+    @Value("${app.s3.multipart.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    @Value("${app.s3.multipart.cleanup-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(
+            initialDelayString = "${app.s3.multipart.cleanup-initial-delay:PT1M}",
+            fixedDelayString = "${app.s3.multipart.cleanup-interval:PT1H}"
+    )
+    public void abortExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(sessionTtl);
+        int aborted = 0;
+        int failed = 0;
+        try {
+            List<UploadSession> batch = sessions.findByCreatedAtBeforeOrderByCreatedAtAscIdAsc(cutoff, Limit.of(batchSize));
+            while (!batch.isEmpty()) {
+                for (UploadSession s : batch) {
+                    if (abort(s)) aborted++;
+                    else failed++;
+                }
+                if (batch.size() < batchSize) break;
+
+                UploadSession last = batch.get(batch.size() - 1);
+                batch = sessions.findExpiredAfter(cutoff, last.getCreatedAt(), last.getId(), Limit.of(batchSize));
+            }
+        } catch (Exception ex) {
+            log.warn("Очистка сессий загрузки прервана: {}", ex.getMessage());
+        }
+        if (aborted > 0 || failed > 0) {
+            log.info("Отменено просроченных сессий загрузки: {}, не удалось: {}", aborted, failed);
+        }
+    }
+
+    /**
+     * Ошибка одной сессии не останавливает очистку: сессия остаётся и будет повторена
+     * в следующий запуск.
+     */
+    private boolean abort(UploadSession s) {
+        try {
+            storage.abortMultipart(s.getObjectKey(), s.getS3UploadId());
+            sessions.delete(s);
+            return true;
+        } catch (Exception ex) {
+            log.warn("Не удалось отменить сессию загрузки {}: {}", s.getId(), ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.ixlax.courseservice.service;
+
+import ru.ixlax.courseservice.web.dto.UploadCompleteResponse;
+import ru.ixlax.courseservice.web.dto.UploadPartResponse;
+import ru.ixlax.courseservice.web.dto.UploadSessionRequest;
+import ru.ixlax.courseservice.web.dto.UploadSessionResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface UploadSessionService {
+
+    UploadSessionResponse create(UUID courseId, UUID userId, boolean isAdmin, UploadSessionRequest req);
+
+    UploadSessionResponse get(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin);
+
+    UploadPartResponse uploadPart(
+            UUID courseId,
+            UUID sessionId,
+            UUID userId,
+            boolean isAdmin,
+            int partNumber,
+            InputStream body,
+            long contentLength
+    );
+
+    UploadCompleteResponse complete(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin);
+
+    Void abort(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin);
+}
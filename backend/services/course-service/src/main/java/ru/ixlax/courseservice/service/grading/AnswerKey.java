@@ -0,0 +1,95 @@
+package ru.ixlax.courseservice.service.grading;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Скомпилированный ключ ответов теста: для каждого вопроса — номера бит вариантов
+ * и маска правильных. Проверка попытки идёт без разбора JSON и без промежуточных множеств.
+ * Неизменяем, поэтому безопасно разделяется между потоками через кеш.
+ */
+public final class AnswerKey {
+
+    public static final int MAX_OPTIONS = Long.SIZE;
+
+    private final UUID testId;
+    private final OffsetDateTime version;
+    private final List<Question> questions;
+
+    private AnswerKey(UUID testId, OffsetDateTime version, List<Question> questions) {
+        this.testId = testId;
+        this.version = version;
+        this.questions = questions;
+    }
+
+    public static AnswerKey compile(UUID testId, OffsetDateTime version, JsonNode questionsJson) {
+        List<Question> questions = new ArrayList<>(questionsJson.size());
+        questionsJson.forEach(node -> {
+            Map<String, Integer> bits = new HashMap<>();
+            long correctMask = 0L;
+            for (JsonNode opt : node.path("options")) {
+                String key = opt.path("key").asText();
+                Integer bit = bits.get(key);
+                if (bit == null) {
+                    if (bits.size() == MAX_OPTIONS) {
+                        throw new IllegalStateException("В вопросе больше " + MAX_OPTIONS + " вариантов ответа");
+                    }
+                    bit = bits.size();
+                    bits.put(key, bit);
+                }
+                if (opt.path("correct").asBoolean(false)) {
+                    correctMask |= 1L << bit;
+                }
+            }
+            questions.add(new Question(node.path("id").asText(), Map.copyOf(bits), correctMask));
+        });
+        return new AnswerKey(testId, version, List.copyOf(questions));
+    }
+
+    public UUID testId() {
+        return testId;
+    }
+
+    public OffsetDateTime version() {
+        return version;
+    }
+
+    public int totalQuestions() {
+        return questions.size();
+    }
+
+    /**
+     * Число вопросов, где набор выбранных ключей точно совпал с набором правильных.
+     * Неизвестный ключ варианта делает ответ на вопрос неверным.
+     */
+    public int countCorrect(Map<String, List<String>> answers) {
+        int correct = 0;
+        for (Question question : questions) {
+            List<String> provided = answers.get(question.id());
+            long mask = 0L;
+            boolean valid = true;
+            if (provided != null) {
+                for (String key : provided) {
+                    Integer bit = question.optionBits().get(key);
+                    if (bit == null) {
+                        valid = false;
+                        break;
+                    }
+                    mask |= 1L << bit;
+                }
+            }
+            if (valid && mask == question.correctMask()) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    private record Question(String id, Map<String, Integer> optionBits, long correctMask) {}
+}
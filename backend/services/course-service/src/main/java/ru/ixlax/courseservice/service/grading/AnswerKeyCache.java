@@ -0,0 +1,51 @@
+package ru.ixlax.courseservice.service.grading;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.ixlax.courseservice.config.CacheConfig;
+import ru.ixlax.courseservice.domain.CourseTest;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Ключи ответов по ID теста. Запись считается актуальной, пока совпадает updatedAt теста,
+ * так что даже пропущенная инвалидация не приведёт к проверке по старому ключу.
+ */
+@Component
+public class AnswerKeyCache {
+
+    private final Cache cache;
+    private final ObjectMapper mapper;
+
+    public AnswerKeyCache(CacheManager cacheManager, ObjectMapper mapper) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ANSWER_KEYS));
+        this.mapper = mapper;
+    }
+
+    public AnswerKey get(CourseTest test) {
+        AnswerKey cached = cache.get(test.getId(), AnswerKey.class);
+        if (cached != null && Objects.equals(cached.version(), test.getUpdatedAt())) {
+            return cached;
+        }
+
+        AnswerKey compiled = compile(test);
+        cache.put(test.getId(), compiled);
+        return compiled;
+    }
+
+    public void evict(UUID testId) {
+        cache.evict(testId);
+    }
+
+    private AnswerKey compile(CourseTest test) {
+        try {
+            return AnswerKey.compile(test.getId(), test.getUpdatedAt(), mapper.readTree(test.getQuestionsJson()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать структуру теста", e);
+        }
+    }
+}
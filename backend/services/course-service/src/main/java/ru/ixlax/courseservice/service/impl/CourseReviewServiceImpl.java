@@ -1,8 +1,11 @@
 package ru.ixlax.courseservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.ixlax.courseservice.config.CacheConfig;
 import ru.ixlax.courseservice.domain.Course;
 import ru.ixlax.courseservice.domain.CourseReview;
 import ru.ixlax.courseservice.domain.Enrollment;
@@ -39,8 +42,13 @@ public class CourseReviewServiceImpl implements CourseReviewService {
                 .toList();
     }
 
+    // рейтинг курса меняется в updateCourseRating — карточка и каталог должны перечитаться
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#courseId"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
     public CourseReviewResponse upsertReview(UUID courseId, UUID userId, CourseReviewRequest request) {
         requireUser(userId);
         Course course = courses.findById(courseId)
@@ -51,11 +59,13 @@ public class CourseReviewServiceImpl implements CourseReviewService {
 
         ensureCompleted(enrollment);
 
-        CourseReview review = reviews.findByCourseIdAndUserId(courseId, userId)
+        // блокировка строки отзыва: дельта к счётчикам считается от предыдущей оценки
+        CourseReview review = reviews.findForUpdateByCourseIdAndUserId(courseId, userId)
                 .orElseGet(() -> CourseReview.builder()
                         .course(course)
                         .userId(userId)
                         .build());
+        Integer previousRating = review.getId() == null ? null : review.getRating();
 
         review.setCourse(course);
         review.setUserId(userId);
@@ -63,14 +73,16 @@ public class CourseReviewServiceImpl implements CourseReviewService {
         review.setComment(request.comment());
 
         CourseReview saved = reviews.save(review);
-        updateCourseRating(course);
+        updateCourseRating(course, previousRating, saved.getRating());
         return CourseReviewResponse.from(saved);
     }
 
-    private void updateCourseRating(Course course) {
-        Double avg = reviews.calculateAverageRating(course.getId());
-        course.setRating(avg == null ? 0.0 : avg);
-        courses.save(course);
+    private void updateCourseRating(Course course, Integer previousRating, int newRating) {
+        if (previousRating == null) {
+            courses.applyRatingDelta(course.getId(), newRating, 1);
+        } else if (previousRating != newRating) {
+            courses.applyRatingDelta(course.getId(), newRating - previousRating, 0);
+        }
     }
 
     private void ensureCompleted(Enrollment enrollment) {
@@ -1,25 +1,51 @@
 package ru.ixlax.courseservice.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import ru.ixlax.courseservice.config.CacheConfig;
 import ru.ixlax.courseservice.domain.Course;
+import ru.ixlax.courseservice.domain.StorageCleanupJob;
+import ru.ixlax.courseservice.exception.custom.AssetUploadException;
 import ru.ixlax.courseservice.exception.custom.CourseAccessDeniedException;
 import ru.ixlax.courseservice.exception.custom.CourseNotFoundException;
+import ru.ixlax.courseservice.exception.custom.UploadNotFoundException;
+import ru.ixlax.courseservice.repository.CourseAssetRepository;
 import ru.ixlax.courseservice.repository.CourseRepository;
+import ru.ixlax.courseservice.repository.CourseTestRepository;
+import ru.ixlax.courseservice.repository.LessonRepository;
+import ru.ixlax.courseservice.repository.StorageCleanupJobRepository;
 import ru.ixlax.courseservice.repository.projection.AuthorAggregation;
+import ru.ixlax.courseservice.repository.specification.CatalogCursor;
+import ru.ixlax.courseservice.repository.specification.CatalogSort;
 import ru.ixlax.courseservice.repository.specification.CourseSpecifications;
+import ru.ixlax.courseservice.s3.AssetUploadResult;
+import ru.ixlax.courseservice.s3.ContentHash;
 import ru.ixlax.courseservice.s3.CourseStorageService;
+import ru.ixlax.courseservice.s3.PresignedUpload;
 import ru.ixlax.courseservice.service.AuthorDirectoryClient;
+import ru.ixlax.courseservice.service.CourseRemoval;
 import ru.ixlax.courseservice.service.CourseService;
+import ru.ixlax.courseservice.web.dto.CourseAssetResponse;
 import ru.ixlax.courseservice.web.dto.CourseAuthorResponse;
 import ru.ixlax.courseservice.web.dto.CatalogFilter;
+import ru.ixlax.courseservice.web.dto.CompleteUploadRequest;
+import ru.ixlax.courseservice.web.dto.CoursePageResponse;
 import ru.ixlax.courseservice.web.dto.CourseRequest;
 import ru.ixlax.courseservice.web.dto.CourseResponse;
+import ru.ixlax.courseservice.web.dto.PresignUploadRequest;
+import ru.ixlax.courseservice.web.dto.UploadCompleteResponse;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -30,14 +56,30 @@ import static org.springframework.util.StringUtils.hasText;
 @RequiredArgsConstructor
 public class CourseServiceImpl implements CourseService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String RELEVANCE_SORT = "relevance";
+
     private final CourseRepository repo;
     private final CourseStorageService storage;
+    private final CourseAssetRepository assetManifest;
+    private final LessonRepository lessons;
+    private final CourseTestRepository tests;
+    private final CourseRemoval removal;
+    private final TransactionTemplate tx;
     private final AuthorDirectoryClient authorDirectory;
+    private final StorageCleanupJobRepository cleanupJobs;
+
+    @Value("${app.s3.cleanup.document-grace:PT1H}")
+    private Duration documentGrace;
 
     /* ---------------- CREATE ---------------- */
 
+    /**
+     * Загрузки в хранилище идут вне транзакции: БД держит соединение только на вставку курса
+     * и на короткую запись получившихся URL. Если загрузка не удалась, курс удаляется.
+     */
     @Override
-    @Transactional
     public CourseResponse create(
             UUID authorId,
             CourseRequest req,
@@ -47,67 +89,151 @@ public class CourseServiceImpl implements CourseService {
             List<MultipartFile> assets
     ) throws Exception {
 
-        Course c = Course.builder()
+        Course c = repo.save(Course.builder()
                 .title(req.title())
                 .description(req.description())
                 .authorId(authorId)
                 .rating(0.0)
                 .published(false)
-                .build();
-
-        repo.save(c);
-
-        if (structureJson != null)
-            c.setStructureUrl(storage.uploadString(c.getId(), "structure.json", structureJson));
+                .build());
+
+        try {
+            StagedFiles files = stageFiles(c, structureJson, lessonsJson, preview, assets);
+            if (files.isEmpty()) {
+                return CourseResponse.from(c);
+            }
+
+            return tx.execute(status -> {
+                Course fresh = repo.findById(c.getId())
+                        .orElseThrow(() -> new CourseNotFoundException(c.getId().toString()));
+                applyStaged(fresh, files);
+                return CourseResponse.from(repo.save(fresh));
+            });
+        } catch (RuntimeException e) {
+            removal.remove(c.getId());
+            throw e;
+        }
+    }
 
-        if (lessonsJson != null)
-            c.setLessonsUrl(storage.uploadString(c.getId(), "lessons.json", lessonsJson));
+    /* ---------------- CLONE ---------------- */
 
-        if (preview != null)
-            c.setPreviewUrl(storage.uploadPreview(c.getId(), preview));
+    /**
+     * Курс, уроки, тест и манифест ассетов копируются одной транзакцией через INSERT ... SELECT,
+     * файлы — CopyObject внутри хранилища уже после коммита. Копия принадлежит тому, кто клонирует,
+     * и не опубликована.
+     */
+    @Override
+    public CourseResponse cloneCourse(UUID id, UUID authorId, boolean isAdmin) {
+        Course source = repo.findById(id)
+                .orElseThrow(() -> new CourseNotFoundException(id.toString()));
 
-        if (assets != null)
-            storage.uploadAssets(c.getId(), assets);
+        ensureOwnerOrAdmin(source, authorId, isAdmin);
+
+        Course copy = tx.execute(status -> {
+            // UUID выдаётся при persist, поэтому URL под новым префиксом попадают в тот же INSERT
+            Course c = repo.save(Course.builder()
+                    .title(copyTitle(source.getTitle()))
+                    .description(source.getDescription())
+                    .authorId(authorId)
+                    .rating(0.0)
+                    .published(false)
+                    .build());
+
+            c.setPreviewUrl(storage.rebaseUrl(source.getPreviewUrl(), source.getId(), c.getId()));
+            c.setStructureUrl(storage.rebaseUrl(source.getStructureUrl(), source.getId(), c.getId()));
+            c.setStructureHash(source.getStructureHash());
+            c.setLessonsUrl(storage.rebaseUrl(source.getLessonsUrl(), source.getId(), c.getId()));
+            c.setLessonsHash(source.getLessonsHash());
+            repo.flush();
+
+            lessons.copyToCourse(source.getId(), c.getId());
+            tests.copyToCourse(source.getId(), c.getId());
+            assetManifest.copyToCourse(source.getId(), c.getId(),
+                    CourseStorageService.prefix(source.getId()), CourseStorageService.prefix(c.getId()));
+            return c;
+        });
+
+        List<String> failed;
+        try {
+            failed = storage.copyPrefix(source.getId(), copy.getId());
+        } catch (RuntimeException e) {
+            removal.remove(copy.getId());
+            throw e;
+        }
+        if (!failed.isEmpty()) {
+            removal.remove(copy.getId());
+            throw new AssetUploadException("Не удалось скопировать файлы курса: " + String.join(", ", failed));
+        }
 
-        return CourseResponse.from(repo.save(c));
+        return CourseResponse.from(copy);
     }
 
     /* ---------------- READ ---------------- */
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CATALOG, key = "T(ru.ixlax.courseservice.web.dto.CatalogFilter).normalize(#filter)")
     public List<CourseResponse> getAll(CatalogFilter filter) {
-        CatalogFilter normalized = filter == null
-                ? new CatalogFilter(null, null, null, null)
-                : filter;
+        CatalogFilter normalized = CatalogFilter.normalize(filter);
 
-        Specification<Course> spec = Specification.where(CourseSpecifications.published());
-
-        if (hasText(normalized.query())) {
-            spec = spec.and(CourseSpecifications.titleOrDescriptionContains(normalized.query()));
+        if (hasText(normalized.query()) && RELEVANCE_SORT.equalsIgnoreCase(normalized.sort())) {
+            Specification<Course> spec = catalogSpec(normalized)
+                    .and(CourseSpecifications.orderByRelevance(normalized.query()));
+            return repo.findAll(spec, Sort.unsorted()).stream().map(CourseResponse::from).toList();
         }
-        if (normalized.authorId() != null) {
-            spec = spec.and(CourseSpecifications.authorEquals(normalized.authorId()));
+
+        CatalogSort sort = CatalogSort.of(normalized.sort());
+        return repo.findAll(catalogSpec(normalized), sort.toSort()).stream().map(CourseResponse::from).toList();
+    }
+
+    @Override
+    @Cacheable(
+            cacheNames = CacheConfig.CATALOG,
+            key = "{T(ru.ixlax.courseservice.web.dto.CatalogFilter).normalize(#filter), #cursor, #limit}"
+    )
+    public CoursePageResponse getPage(CatalogFilter filter, String cursor, Integer limit) {
+        CatalogFilter normalized = CatalogFilter.normalize(filter);
+        // ранг релевантности не годится для keyset-курсора, молча подменять порядок нельзя
+        if (RELEVANCE_SORT.equalsIgnoreCase(normalized.sort())) {
+            throw new IllegalArgumentException("Сортировка relevance не поддерживается в постраничном каталоге, используйте GET /api/courses");
         }
-        if (normalized.minRating() != null) {
-            spec = spec.and(CourseSpecifications.ratingGte(normalized.minRating()));
+        CatalogSort sort = CatalogSort.of(normalized.sort());
+        int size = resolvePageSize(limit);
+
+        Specification<Course> spec = catalogSpec(normalized);
+        if (hasText(cursor)) {
+            spec = spec.and(CourseSpecifications.after(sort, CatalogCursor.decode(cursor)));
         }
 
-        Sort sort = resolveSort(normalized.sort());
+        // берём на одну запись больше, чтобы узнать про следующую страницу без count(*)
+        List<Course> rows = repo.findBy(spec, q -> q.sortBy(sort.toSort()).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<Course> page = hasMore ? rows.subList(0, size) : rows;
 
-        return repo.findAll(spec, sort).stream().map(CourseResponse::from).toList();
+        String nextCursor = hasMore ? CatalogCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new CoursePageResponse(
+                page.stream().map(CourseResponse::from).toList(),
+                nextCursor,
+                hasMore
+        );
     }
 
     @Override
     public List<CourseAuthorResponse> getAuthors() {
         List<AuthorAggregation> authors = repo.findPublishedAuthors();
-        Map<UUID, String> names = authorDirectory.fetchAuthorNames(
-                authors.stream().map(AuthorAggregation::getAuthorId).toList()
-        );
+
+        // в реплике нет только совсем новых авторов — их добираем из auth-service
+        List<UUID> missing = authors.stream()
+                .filter(author -> author.getAuthorName() == null)
+                .map(AuthorAggregation::getAuthorId)
+                .toList();
+        Map<UUID, String> fallback = authorDirectory.fetchAuthorNames(missing);
 
         return authors.stream()
                 .map(author -> new CourseAuthorResponse(
                         author.getAuthorId(),
-                        names.get(author.getAuthorId()),
+                        author.getAuthorName() != null
+                                ? author.getAuthorName()
+                                : fallback.get(author.getAuthorId()),
                         author.getCoursesCount()
                 ))
                 .toList();
@@ -121,6 +247,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#id")
     public CourseResponse getById(UUID id) {
         return repo.findById(id)
                 .map(CourseResponse::from)
@@ -130,7 +257,10 @@ public class CourseServiceImpl implements CourseService {
     /* ---------------- UPDATE ---------------- */
 
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
     public CourseResponse update(
             UUID id,
             UUID authorId,
@@ -142,74 +272,177 @@ public class CourseServiceImpl implements CourseService {
             List<MultipartFile> assets
     ) throws Exception {
 
-        Course c = repo.findById(id)
+        Course current = repo.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id.toString()));
 
-        ensureOwnerOrAdmin(c, authorId, isAdmin);
+        ensureOwnerOrAdmin(current, authorId, isAdmin);
 
-        if (req.title() != null)
-            c.setTitle(req.title());
+        StagedFiles files = stageFiles(current, structureJson, lessonsJson, preview, assets);
 
-        if (req.description() != null)
-            c.setDescription(req.description());
+        return tx.execute(status -> {
+            Course c = repo.findById(id)
+                    .orElseThrow(() -> new CourseNotFoundException(id.toString()));
 
-        if (structureJson != null)
-            c.setStructureUrl(storage.uploadString(c.getId(), "structure.json", structureJson));
+            if (req.title() != null)
+                c.setTitle(req.title());
 
-        if (lessonsJson != null)
-            c.setLessonsUrl(storage.uploadString(c.getId(), "lessons.json", lessonsJson));
+            if (req.description() != null)
+                c.setDescription(req.description());
 
-        if (preview != null)
-            c.setPreviewUrl(storage.uploadPreview(c.getId(), preview));
-
-        if (assets != null)
-            storage.uploadAssets(c.getId(), assets);
-
-        return CourseResponse.from(repo.save(c));
+            applyStaged(c, files);
+            return CourseResponse.from(repo.save(c));
+        });
     }
 
     /* ---------------- PUT JSON FILES ---------------- */
 
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
     public CourseResponse putStructureJson(UUID id, UUID authorId, boolean isAdmin, String json) {
+        return putFiles(id, authorId, isAdmin, json, null);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
+    public CourseResponse putLessonsJson(UUID id, UUID authorId, boolean isAdmin, String json) {
+        return putFiles(id, authorId, isAdmin, null, json);
+    }
+
+    private CourseResponse putFiles(UUID id, UUID authorId, boolean isAdmin, String structureJson, String lessonsJson) {
+        Course current = repo.findById(id)
+                .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+        ensureOwnerOrAdmin(current, authorId, isAdmin);
+
+        StagedFiles files = stageFiles(current, structureJson, lessonsJson, null, null);
+        if (files.isEmpty()) {
+            return CourseResponse.from(current);
+        }
+
+        return tx.execute(status -> {
+            Course c = repo.findById(id)
+                    .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+            applyStaged(c, files);
+            return CourseResponse.from(repo.save(c));
+        });
+    }
+
+    /* ---------------- ASSETS ---------------- */
+
+    @Override
+    public String uploadAsset(UUID id, UUID authorId, boolean isAdmin, String subPath, MultipartFile file) {
         Course c = repo.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+
         ensureOwnerOrAdmin(c, authorId, isAdmin);
 
-        c.setStructureUrl(storage.uploadString(id, "structure.json", json));
-        return CourseResponse.from(repo.save(c));
+        AssetUploadResult result = storage.putAsset(c.getId(), subPath, file);
+        recordAssets(c.getId(), List.of(result));
+        return result.url();
     }
 
-    /* ---------------- ASSETS ---------------- */
+    @Override
+    public List<AssetUploadResult> uploadAssets(UUID id, UUID authorId, boolean isAdmin, List<MultipartFile> files) {
+        Course c = repo.findById(id)
+                .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+
+        ensureOwnerOrAdmin(c, authorId, isAdmin);
+
+        List<AssetUploadResult> results = storage.uploadAssets(files);
+        recordAssets(c.getId(), results);
+        return results;
+    }
 
     @Override
-    @Transactional
-    public CourseResponse putLessonsJson(UUID id, UUID authorId, boolean isAdmin, String json) {
+    public List<CourseAssetResponse> getAssets(UUID id, UUID authorId, boolean isAdmin) {
         Course c = repo.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+
         ensureOwnerOrAdmin(c, authorId, isAdmin);
 
-        c.setLessonsUrl(storage.uploadString(id, "lessons.json", json));
-        return CourseResponse.from(repo.save(c));
+        return assetManifest.findByCourseIdOrderByPath(c.getId()).stream()
+                .map(a -> new CourseAssetResponse(
+                        a.getPath(),
+                        a.getContentKey(),
+                        storage.publicUrl(a.getContentKey()),
+                        a.getSize(),
+                        a.getContentType(),
+                        a.getUpdatedAt()
+                ))
+                .toList();
     }
 
-    /* ---------------- ASSETS ---------------- */
+    /* ---------------- DIRECT UPLOADS ---------------- */
 
     @Override
-    public String uploadAsset(UUID id, UUID authorId, boolean isAdmin, String subPath, MultipartFile file) {
+    public PresignedUpload presignUpload(UUID id, UUID authorId, boolean isAdmin, PresignUploadRequest req) {
         Course c = repo.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id.toString()));
 
         ensureOwnerOrAdmin(c, authorId, isAdmin);
 
-        return storage.putAsset(c.getId(), subPath, file);
+        String contentType = switch (req.target()) {
+            case STRUCTURE, LESSONS -> "application/json";
+            default -> req.contentType();
+        };
+        return storage.presignPut(req.target().key(c.getId(), req.fileName()), contentType);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
+    public UploadCompleteResponse completeUpload(UUID id, UUID authorId, boolean isAdmin, CompleteUploadRequest req) {
+        Course current = repo.findById(id)
+                .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+
+        ensureOwnerOrAdmin(current, authorId, isAdmin);
+
+        if (!req.target().owns(current.getId(), req.key())) {
+            throw new UploadNotFoundException(req.key());
+        }
+        long size = storage.objectSize(req.key())
+                .orElseThrow(() -> new UploadNotFoundException(req.key()));
+        String url = storage.publicUrl(req.key());
+
+        return tx.execute(status -> {
+            Course c = repo.findById(id)
+                    .orElseThrow(() -> new CourseNotFoundException(id.toString()));
+
+            switch (req.target()) {
+                case PREVIEW -> c.setPreviewUrl(url);
+                case STRUCTURE -> {
+                    retireDocument(c.getId(), c.getStructureUrl(), url);
+                    c.setStructureUrl(url);
+                    c.setStructureHash(null);
+                }
+                case LESSONS -> {
+                    retireDocument(c.getId(), c.getLessonsUrl(), url);
+                    c.setLessonsUrl(url);
+                    c.setLessonsHash(null);
+                }
+                case ASSET -> assetManifest.upsert(c.getId(), req.key().substring(c.getId().toString().length() + 1),
+                        req.key(), size, null);
+            }
+
+            return new UploadCompleteResponse(req.key(), url, size, CourseResponse.from(repo.save(c)));
+        });
     }
 
     /* ---------------- PUBLISH / DELETE ---------------- */
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
     public CourseResponse publish(UUID id, boolean published, UUID authorId, boolean isAdmin) {
         Course c = repo.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id.toString()));
@@ -221,26 +454,167 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
-    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATALOG, allEntries = true)
+    })
     public Void deleteById(UUID id, UUID authorId, boolean isAdmin) {
         Course c = repo.findById(id)
                 .orElseThrow(() -> new CourseNotFoundException(id.toString()));
 
         ensureOwnerOrAdmin(c, authorId, isAdmin);
-        repo.delete(c);
+        removal.remove(c.getId());
         return null;
     }
 
     /* ---------------- HELPERS ---------------- */
 
-    private Sort resolveSort(String sortKey) {
-        String key = sortKey == null ? "rating_desc" : sortKey.toLowerCase();
-        return switch (key) {
-            case "rating_asc" -> Sort.by(Sort.Direction.ASC, "rating");
-            case "newest" -> Sort.by(Sort.Direction.DESC, "createdAt");
-            case "oldest" -> Sort.by(Sort.Direction.ASC, "createdAt");
-            default -> Sort.by(Sort.Direction.DESC, "rating");
-        };
+    private Specification<Course> catalogSpec(CatalogFilter filter) {
+        Specification<Course> spec = Specification.where(CourseSpecifications.published());
+
+        if (hasText(filter.query())) {
+            spec = spec.and(CourseSpecifications.matchesSearch(filter.query()));
+        }
+        if (filter.authorId() != null) {
+            spec = spec.and(CourseSpecifications.authorEquals(filter.authorId()));
+        }
+        if (filter.minRating() != null) {
+            spec = spec.and(CourseSpecifications.ratingGte(filter.minRating()));
+        }
+        return spec;
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private void requireUploaded(List<AssetUploadResult> results) {
+        List<String> failed = results.stream()
+                .filter(r -> !r.isSuccess())
+                .map(r -> r.name() + ": " + r.error())
+                .toList();
+        if (!failed.isEmpty()) {
+            throw new AssetUploadException("Не удалось загрузить ассеты: " + String.join("; ", failed));
+        }
+    }
+
+    /**
+     * Файлы курса, уже лежащие в хранилище, но ещё не записанные в БД.
+     * {@code null} у документа — он не передан или не изменился.
+     */
+    private record StagedFiles(
+            StagedDocument structure,
+            StagedDocument lessons,
+            String previewUrl,
+            List<AssetUploadResult> assets
+    ) {
+        boolean isEmpty() {
+            return structure == null && lessons == null && previewUrl == null && assets.isEmpty();
+        }
+    }
+
+    private record StagedDocument(String url, String hash) {}
+
+    /**
+     * Первая фаза: всё, что касается хранилища. Вызывается без транзакции.
+     */
+    private StagedFiles stageFiles(
+            Course current,
+            String structureJson,
+            String lessonsJson,
+            MultipartFile preview,
+            List<MultipartFile> assets
+    ) {
+        UUID id = current.getId();
+
+        StagedDocument structure = stageDocument(id, "structure", structureJson,
+                current.getStructureHash(), current.getStructureUrl());
+        StagedDocument lessons = stageDocument(id, "lessons", lessonsJson,
+                current.getLessonsHash(), current.getLessonsUrl());
+        String previewUrl = preview != null ? storage.uploadPreview(id, preview) : null;
+
+        List<AssetUploadResult> uploaded = List.of();
+        if (assets != null) {
+            uploaded = storage.uploadAssets(assets);
+            requireUploaded(uploaded);
+        }
+        return new StagedFiles(structure, lessons, previewUrl, uploaded);
+    }
+
+    /**
+     * Загружает JSON-документ, только если содержимое изменилось.
+     */
+    private StagedDocument stageDocument(UUID id, String name, String json, String currentHash, String currentUrl) {
+        if (json == null) return null;
+
+        String hash = ContentHash.sha256(json);
+        if (hash.equals(currentHash) && currentUrl != null) return null;
+
+        return new StagedDocument(storage.putJsonDocument(id, name, hash, json), hash);
+    }
+
+    /**
+     * Вторая фаза: записывает результат загрузок в курс. Вызывается в транзакции.
+     */
+    private void applyStaged(Course c, StagedFiles files) {
+        if (files.structure() != null) {
+            reviveDocument(c.getId(), files.structure().url());
+            retireDocument(c.getId(), c.getStructureUrl(), files.structure().url());
+            c.setStructureUrl(files.structure().url());
+            c.setStructureHash(files.structure().hash());
+        }
+        if (files.lessons() != null) {
+            reviveDocument(c.getId(), files.lessons().url());
+            retireDocument(c.getId(), c.getLessonsUrl(), files.lessons().url());
+            c.setLessonsUrl(files.lessons().url());
+            c.setLessonsHash(files.lessons().hash());
+        }
+        if (files.previewUrl() != null) {
+            c.setPreviewUrl(files.previewUrl());
+        }
+        recordAssets(c.getId(), files.assets());
+    }
+
+    /**
+     * Ставит в очередь удаление вытесненной версии документа. Строка пишется в транзакции, которая
+     * переключает URL, поэтому до коммита ничего не удаляется; удаление откладывается на
+     * app.s3.cleanup.document-grace, чтобы клиенты со старым URL успели его дочитать.
+     */
+    private void retireDocument(UUID courseId, String oldUrl, String newUrl) {
+        if (oldUrl == null || oldUrl.equals(newUrl)) return;
+
+        storage.documentKey(courseId, oldUrl).ifPresent(key -> cleanupJobs.save(StorageCleanupJob.builder()
+                .courseId(courseId)
+                .prefix(key)
+                .nextAttemptAt(OffsetDateTime.now().plus(documentGrace))
+                .build()));
+    }
+
+    /**
+     * Новый URL документа мог совпасть с версией, ждущей удаления (автор вернул прежний JSON):
+     * её задача снимается в той же транзакции, что переключает URL.
+     */
+    private void reviveDocument(UUID courseId, String url) {
+        storage.documentKey(courseId, url).ifPresent(cleanupJobs::cancelByKey);
+    }
+
+    /**
+     * Записывает успешно загруженные ассеты в манифест курса (путь → блоб).
+     */
+    private void recordAssets(UUID courseId, List<AssetUploadResult> results) {
+        for (AssetUploadResult r : results) {
+            if (r.isSuccess()) {
+                assetManifest.upsert(courseId, r.path(), r.contentKey(), r.size(), r.contentType());
+            }
+        }
+    }
+
+    private static String copyTitle(String title) {
+        String copy = (title == null ? "" : title) + " (копия)";
+        return copy.length() > 255 ? copy.substring(0, 255) : copy;
     }
 
     private void ensureOwnerOrAdmin(Course c, UUID authorId, boolean isAdmin) {
@@ -12,6 +12,8 @@ import ru.ixlax.courseservice.domain.*;
 import ru.ixlax.courseservice.exception.custom.*;
 import ru.ixlax.courseservice.repository.*;
 import ru.ixlax.courseservice.service.CourseTestService;
+import ru.ixlax.courseservice.service.grading.AnswerKey;
+import ru.ixlax.courseservice.service.grading.AnswerKeyCache;
 import ru.ixlax.courseservice.web.dto.*;
 
 import java.util.*;
@@ -24,6 +26,7 @@ public class CourseTestServiceImpl implements CourseTestService {
     private final CourseTestRepository tests;
     private final EnrollmentRepository enrollments;
     private final TestAttemptRepository attempts;
+    private final AnswerKeyCache answerKeys;
     private final ObjectMapper mapper;
 
     @Override
@@ -44,8 +47,10 @@ public class CourseTestServiceImpl implements CourseTestService {
         test.setTitle(request.title().trim());
         test.setPassingScore(passingScore);
         test.setQuestionsJson(writeJson(normalized));
+        test.setSanitizedQuestionsJson(writeJson(sanitizeQuestions(normalized)));
 
         CourseTest saved = tests.save(test);
+        answerKeys.evict(saved.getId());
         return new CourseTestResponse(
                 saved.getId(),
                 saved.getCourse().getId(),
@@ -77,8 +82,14 @@ public class CourseTestServiceImpl implements CourseTestService {
 
         ensureEnrollmentExists(courseId, userId);
 
-        JsonNode sanitized = sanitizeQuestions(readQuestions(test));
-        return new CourseTestContentResponse(test.getId(), courseId, test.getTitle(), sanitized, test.getPassingScore());
+        return new CourseTestContentResponse(
+                test.getId(),
+                courseId,
+                test.getTitle(),
+                sanitizedQuestions(test),
+                test.getPassingScore(),
+                test.getUpdatedAt()
+        );
     }
 
     @Override
@@ -90,22 +101,13 @@ public class CourseTestServiceImpl implements CourseTestService {
 
         Enrollment enrollment = ensureEnrollmentExists(courseId, userId);
 
-        JsonNode questions = readQuestions(test);
-        Map<String, Set<String>> correctAnswers = extractCorrectAnswers(questions);
+        AnswerKey key = answerKeys.get(test);
         Map<String, List<String>> answers = submission.answers() == null
                 ? Map.of()
                 : submission.answers();
 
-        int totalQuestions = correctAnswers.size();
-        int correctCount = 0;
-
-        for (Map.Entry<String, Set<String>> entry : correctAnswers.entrySet()) {
-            List<String> provided = answers.get(entry.getKey());
-            Set<String> userAnswer = provided == null ? Collections.emptySet() : new HashSet<>(provided);
-            if (userAnswer.equals(entry.getValue())) {
-                correctCount++;
-            }
-        }
+        int totalQuestions = key.totalQuestions();
+        int correctCount = key.countCorrect(answers);
 
         int passingScore = resolvePassingScore(test.getPassingScore(), totalQuestions);
         boolean passed = correctCount >= passingScore;
@@ -173,6 +175,9 @@ public class CourseTestServiceImpl implements CourseTestService {
             if (!originalOptions.isArray() || originalOptions.isEmpty()) {
                 throw new IllegalArgumentException("У вопроса " + id + " должен быть хотя бы один вариант ответа");
             }
+            if (originalOptions.size() > AnswerKey.MAX_OPTIONS) {
+                throw new IllegalArgumentException("У вопроса " + id + " не может быть больше " + AnswerKey.MAX_OPTIONS + " вариантов ответа");
+            }
 
             int correctCount = 0;
             for (JsonNode optionNode : originalOptions) {
@@ -234,19 +239,11 @@ public class CourseTestServiceImpl implements CourseTestService {
         return sanitized;
     }
 
-    private Map<String, Set<String>> extractCorrectAnswers(JsonNode questions) {
-        Map<String, Set<String>> result = new HashMap<>();
-        questions.forEach(node -> {
-            String questionId = node.path("id").asText();
-            Set<String> correct = new HashSet<>();
-            node.path("options").forEach(opt -> {
-                if (opt.path("correct").asBoolean(false)) {
-                    correct.add(opt.path("key").asText());
-                }
-            });
-            result.put(questionId, correct);
-        });
-        return result;
+    private String sanitizedQuestions(CourseTest test) {
+        if (test.getSanitizedQuestionsJson() != null) {
+            return test.getSanitizedQuestionsJson();
+        }
+        return writeJson(sanitizeQuestions(readQuestions(test)));
     }
 
     private JsonNode readQuestions(CourseTest test) {
@@ -10,6 +10,7 @@ import ru.ixlax.courseservice.exception.custom.EnrollmentNotFoundException;
 import ru.ixlax.courseservice.exception.custom.LessonNotFoundException;
 import ru.ixlax.courseservice.service.EnrollmentService;
 import ru.ixlax.courseservice.repository.*;
+import ru.ixlax.courseservice.repository.projection.EnrollmentProgressView;
 import ru.ixlax.courseservice.web.dto.CourseProgressResponse;
 import ru.ixlax.courseservice.web.dto.EnrollmentResponse;
 import ru.ixlax.courseservice.web.dto.TestAttemptResponse;
@@ -24,10 +25,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
 
     private final CourseRepository courses;
     private final EnrollmentRepository enrollments;
-    private final LessonRepository lessons;
     private final LessonProgressRepository lessonProgress;
-    private final CourseTestRepository courseTests;
-    private final TestAttemptRepository testAttempts;
 
     @Override
     @Transactional
@@ -77,16 +75,15 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 .toList();
     }
 
+    // прогресс пересчитывается и сохраняется только при изменениях (completeLesson, добавление/удаление уроков)
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public CourseProgressResponse getProgress(UUID courseId, UUID userId) {
         requireUser(userId);
         Enrollment enrollment = enrollments.findByCourseIdAndUserId(courseId, userId)
                 .orElseThrow(() -> new EnrollmentNotFoundException("Запись на курс не найдена"));
 
-        ProgressSnapshot snapshot = refreshEnrollmentProgress(enrollment);
-        enrollments.save(enrollment);
-        return buildProgressResponse(enrollment, snapshot);
+        return buildProgressResponse(enrollment, readSnapshot(enrollment));
     }
 
     @Override
@@ -96,46 +93,32 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         Enrollment enrollment = enrollments.findByCourseIdAndUserId(courseId, userId)
                 .orElseThrow(() -> new EnrollmentNotFoundException("Сначала запишитесь на курс"));
 
-        Lesson lesson = lessons.findByIdAndCourseId(lessonId, courseId)
-                .orElseThrow(() -> new LessonNotFoundException(lessonId.toString()));
-
-        LessonProgress progress = lessonProgress.findByEnrollmentIdAndLessonId(enrollment.getId(), lesson.getId())
-                .orElseGet(() -> LessonProgress.builder()
-                        .enrollment(enrollment)
-                        .lesson(lesson)
-                        .status(LessonProgressStatus.IN_PROGRESS)
-                        .build());
-
-        progress.setEnrollment(enrollment);
-        progress.setLesson(lesson);
-        progress.setStatus(LessonProgressStatus.COMPLETED);
-        progress.setCompletedAt(OffsetDateTime.now());
-        lessonProgress.save(progress);
+        if (lessonProgress.markCompleted(enrollment.getId(), lessonId, courseId) == 0) {
+            throw new LessonNotFoundException(lessonId.toString());
+        }
 
-        ProgressSnapshot snapshot = refreshEnrollmentProgress(enrollment);
+        ProgressSnapshot snapshot = readSnapshot(enrollment);
+        applySnapshot(enrollment, snapshot);
         enrollments.save(enrollment);
         return buildProgressResponse(enrollment, snapshot);
     }
 
     private CourseProgressResponse buildProgressResponse(Enrollment enrollment, ProgressSnapshot snapshot) {
         UUID courseId = enrollment.getCourse().getId();
-        UUID lastCompletedLessonId = lessonProgress
-                .findTopByEnrollmentIdAndStatusOrderByCompletedAtDescCreatedAtDesc(
-                        enrollment.getId(),
-                        LessonProgressStatus.COMPLETED
-                )
-                .map(lp -> lp.getLesson().getId())
-                .orElse(null);
-
-        TestAttemptResponse attemptResponse = null;
-        boolean testAvailable = false;
-        var test = courseTests.findByCourseId(courseId);
-        if (test.isPresent()) {
-            testAvailable = true;
-            attemptResponse = testAttempts.findTopByTestIdAndUserIdOrderByCreatedAtDesc(test.get().getId(), enrollment.getUserId())
-                    .map(TestAttemptResponse::from)
-                    .orElse(null);
-        }
+        EnrollmentProgressView view = snapshot.view();
+
+        TestAttemptResponse attemptResponse = view.getAttemptId() == null
+                ? null
+                : TestAttemptResponse.of(
+                        view.getAttemptId(),
+                        view.getTestId(),
+                        courseId,
+                        enrollment.getUserId(),
+                        view.getAttemptCorrectAnswers(),
+                        view.getAttemptTotalQuestions(),
+                        Boolean.TRUE.equals(view.getAttemptPassed()),
+                        view.getAttemptCreatedAt()
+                );
 
         return new CourseProgressResponse(
                 courseId,
@@ -144,36 +127,40 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 snapshot.completedLessons(),
                 snapshot.totalLessons(),
                 snapshot.percent(),
-                lastCompletedLessonId,
+                view.getLastCompletedLessonId(),
                 enrollment.getUpdatedAt(),
                 attemptResponse,
-                testAvailable
+                view.getTestId() != null
         );
     }
 
-    private ProgressSnapshot refreshEnrollmentProgress(Enrollment enrollment) {
-        int totalLessons = Math.toIntExact(lessons.countByCourseId(enrollment.getCourse().getId()));
-        int completedLessons = (int) lessonProgress.countByEnrollmentIdAndStatus(
+    private ProgressSnapshot readSnapshot(Enrollment enrollment) {
+        EnrollmentProgressView view = enrollments.findProgressSnapshot(
                 enrollment.getId(),
                 LessonProgressStatus.COMPLETED
         );
+        int totalLessons = Math.toIntExact(view.getTotalLessons());
+        int completedLessons = Math.toIntExact(view.getCompletedLessons());
         int percent = totalLessons == 0
                 ? 0
                 : (int) Math.round((double) completedLessons * 100 / totalLessons);
 
-        enrollment.setProgressPercent(percent);
+        return new ProgressSnapshot(completedLessons, totalLessons, percent, view);
+    }
+
+    // та же логика для всех записей курса — EnrollmentRepository.refreshProgressForCourse
+    private void applySnapshot(Enrollment enrollment, ProgressSnapshot snapshot) {
+        enrollment.setProgressPercent(snapshot.percent());
 
-        if (totalLessons > 0 && completedLessons >= totalLessons) {
+        if (snapshot.totalLessons() > 0 && snapshot.completedLessons() >= snapshot.totalLessons()) {
             enrollment.setStatus(EnrollmentStatus.COMPLETED);
             if (enrollment.getCompletedAt() == null) {
                 enrollment.setCompletedAt(OffsetDateTime.now());
             }
-        } else if (percent < 100 && enrollment.getStatus() == EnrollmentStatus.COMPLETED) {
+        } else if (snapshot.percent() < 100 && enrollment.getStatus() == EnrollmentStatus.COMPLETED) {
             enrollment.setStatus(EnrollmentStatus.ACTIVE);
             enrollment.setCompletedAt(null);
         }
-
-        return new ProgressSnapshot(completedLessons, totalLessons, percent);
     }
 
     private Course findCourse(UUID id) {
@@ -197,5 +184,5 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         }
     }
 
-    private record ProgressSnapshot(int completedLessons, int totalLessons, int percent) {}
+    private record ProgressSnapshot(int completedLessons, int totalLessons, int percent, EnrollmentProgressView view) {}
 }
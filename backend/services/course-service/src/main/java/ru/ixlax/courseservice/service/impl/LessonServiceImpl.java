@@ -1,19 +1,19 @@
 package ru.ixlax.courseservice.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.ixlax.courseservice.domain.Course;
 import ru.ixlax.courseservice.domain.Lesson;
+import ru.ixlax.courseservice.domain.LessonProgressStatus;
 import ru.ixlax.courseservice.exception.custom.CourseAccessDeniedException;
 import ru.ixlax.courseservice.exception.custom.CourseNotFoundException;
 import ru.ixlax.courseservice.exception.custom.LessonNotFoundException;
 import ru.ixlax.courseservice.repository.CourseRepository;
+import ru.ixlax.courseservice.repository.EnrollmentRepository;
 import ru.ixlax.courseservice.repository.LessonRepository;
 import ru.ixlax.courseservice.service.LessonService;
+import ru.ixlax.courseservice.web.dto.LessonOutlineResponse;
 import ru.ixlax.courseservice.web.dto.LessonRequest;
 import ru.ixlax.courseservice.web.dto.LessonResponse;
 
@@ -26,7 +26,7 @@ public class LessonServiceImpl implements LessonService {
 
     private final CourseRepository courses;
     private final LessonRepository lessons;
-    private final ObjectMapper mapper;
+    private final EnrollmentRepository enrollments;
 
     @Override
     @Transactional
@@ -41,7 +41,9 @@ public class LessonServiceImpl implements LessonService {
                 .orderIndex(resolveOrderIndex(courseId, request.orderIndex()))
                 .build();
 
-        return toResponse(lessons.save(lesson));
+        LessonResponse response = toResponse(lessons.save(lesson));
+        enrollments.refreshProgressForCourse(courseId);
+        return response;
     }
 
     @Override
@@ -59,6 +61,35 @@ public class LessonServiceImpl implements LessonService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<LessonOutlineResponse> getOutline(UUID courseId, UUID requesterId, boolean isAdmin) {
+        Course course = findCourse(courseId);
+
+        if (!course.isPublished()) {
+            ensureOwnerOrAdmin(course, requesterId, isAdmin);
+        }
+
+        return lessons.findOutline(courseId, requesterId, LessonProgressStatus.COMPLETED)
+                .stream()
+                .map(LessonOutlineResponse::from)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LessonResponse getLesson(UUID courseId, UUID lessonId, UUID requesterId, boolean isAdmin) {
+        Course course = findCourse(courseId);
+
+        if (!course.isPublished()) {
+            ensureOwnerOrAdmin(course, requesterId, isAdmin);
+        }
+
+        return lessons.findByIdAndCourseId(lessonId, courseId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new LessonNotFoundException(lessonId.toString()));
+    }
+
     @Override
     @Transactional
     public LessonResponse update(UUID courseId, UUID lessonId, UUID authorId, boolean isAdmin, LessonRequest request) {
@@ -86,6 +117,7 @@ public class LessonServiceImpl implements LessonService {
         Lesson lesson = lessons.findByIdAndCourseId(lessonId, courseId)
                 .orElseThrow(() -> new LessonNotFoundException(lessonId.toString()));
         lessons.delete(lesson);
+        enrollments.refreshProgressForCourse(courseId);
     }
 
     private Course findCourse(UUID id) {
@@ -112,16 +144,9 @@ public class LessonServiceImpl implements LessonService {
                 lesson.getId(),
                 lesson.getCourse().getId(),
                 lesson.getTitle(),
-                readContent(lesson.getContent()),
+                // content хранится как сериализованный JsonNode и отдаётся без повторного разбора
+                lesson.getContent(),
                 lesson.getOrderIndex()
         );
     }
-
-    private JsonNode readContent(String content) {
-        try {
-            return mapper.readTree(content);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Не удалось прочитать содержимое урока", e);
-        }
-    }
 }
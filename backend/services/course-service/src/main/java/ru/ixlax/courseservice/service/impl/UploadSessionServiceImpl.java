@@ -0,0 +1,207 @@
+package ru.ixlax.courseservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import ru.ixlax.courseservice.domain.Course;
+import ru.ixlax.courseservice.domain.UploadSession;
+import ru.ixlax.courseservice.domain.UploadSessionPart;
+import ru.ixlax.courseservice.exception.custom.AssetUploadException;
+import ru.ixlax.courseservice.exception.custom.CourseAccessDeniedException;
+import ru.ixlax.courseservice.exception.custom.CourseNotFoundException;
+import ru.ixlax.courseservice.exception.custom.InvalidUploadPartException;
+import ru.ixlax.courseservice.exception.custom.UploadSessionNotFoundException;
+import ru.ixlax.courseservice.repository.CourseRepository;
+import ru.ixlax.courseservice.repository.UploadSessionPartRepository;
+import ru.ixlax.courseservice.repository.UploadSessionRepository;
+import ru.ixlax.courseservice.s3.CourseStorageService;
+import ru.ixlax.courseservice.service.CourseService;
+import ru.ixlax.courseservice.service.UploadSessionService;
+import ru.ixlax.courseservice.web.dto.CompleteUploadRequest;
+import ru.ixlax.courseservice.web.dto.UploadCompleteResponse;
+import ru.ixlax.courseservice.web.dto.UploadPartResponse;
+import ru.ixlax.courseservice.web.dto.UploadSessionRequest;
+import ru.ixlax.courseservice.web.dto.UploadSessionResponse;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Возобновляемая загрузка поверх S3 multipart upload. Каждая часть стримится из тела запроса
+ * прямо в S3, принятые части фиксируются в БД — после обрыва клиент спрашивает состояние
+ * сессии и дошлёт только недостающие части. Транзакции БД вокруг передачи не держатся.
+ */
+@Service
+@RequiredArgsConstructor
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    /** Ограничения S3: части от 5 МБ (кроме последней), номера 1..10000. */
+    private static final long MIN_PART_SIZE = DataSize.ofMegabytes(5).toBytes();
+    private static final int MAX_PARTS = 10_000;
+
+    private final CourseRepository courses;
+    private final UploadSessionRepository sessions;
+    private final UploadSessionPartRepository parts;
+    private final CourseStorageService storage;
+    private final CourseService courseService;
+
+    @Value("${app.s3.multipart.part-size:16MB}")
+    private DataSize partSize;
+
+    @Value("${app.s3.multipart.max-part-size:64MB}")
+    private DataSize maxPartSize;
+
+    @Value("${app.s3.multipart.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    @Override
+    public UploadSessionResponse create(UUID courseId, UUID userId, boolean isAdmin, UploadSessionRequest req) {
+        Course c = courses.findById(courseId)
+                .orElseThrow(() -> new CourseNotFoundException(courseId.toString()));
+
+        ensureOwnerOrAdmin(c, userId, isAdmin);
+
+        String key = req.target().key(c.getId(), req.fileName());
+        String contentType = switch (req.target()) {
+            case STRUCTURE, LESSONS -> "application/json";
+            default -> req.contentType();
+        };
+
+        UploadSession session = sessions.save(UploadSession.builder()
+                .courseId(c.getId())
+                .authorId(userId)
+                .target(req.target())
+                .objectKey(key)
+                .s3UploadId(storage.createMultipart(key, contentType))
+                .contentType(contentType)
+                .build());
+
+        return toResponse(session, List.of());
+    }
+
+    @Override
+    public UploadSessionResponse get(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin) {
+        UploadSession session = load(courseId, sessionId, userId, isAdmin);
+        return toResponse(session, parts.findBySessionIdOrderByPartNumber(session.getId()));
+    }
+
+    @Override
+    public UploadPartResponse uploadPart(
+            UUID courseId,
+            UUID sessionId,
+            UUID userId,
+            boolean isAdmin,
+            int partNumber,
+            InputStream body,
+            long contentLength
+    ) {
+        if (partNumber < 1 || partNumber > MAX_PARTS) {
+            throw new InvalidUploadPartException("Номер части должен быть от 1 до " + MAX_PARTS);
+        }
+        if (contentLength <= 0) {
+            throw new InvalidUploadPartException("Нужен Content-Length с размером части");
+        }
+        if (contentLength > maxPartSize.toBytes()) {
+            throw new InvalidUploadPartException("Часть больше " + maxPartSize.toMegabytes() + " МБ");
+        }
+
+        UploadSession session = load(courseId, sessionId, userId, isAdmin);
+
+        String etag;
+        try {
+            etag = storage.uploadPart(session.getObjectKey(), session.getS3UploadId(), partNumber, body, contentLength);
+        } catch (SdkException e) {
+            throw new AssetUploadException("Не удалось загрузить часть " + partNumber + ": " + e.getMessage());
+        }
+        parts.upsert(session.getId(), partNumber, etag, contentLength);
+
+        return new UploadPartResponse(partNumber, etag, contentLength);
+    }
+
+    @Override
+    public UploadCompleteResponse complete(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin) {
+        UploadSession session = load(courseId, sessionId, userId, isAdmin);
+        List<UploadSessionPart> uploaded = parts.findBySessionIdOrderByPartNumber(session.getId());
+
+        if (uploaded.isEmpty()) {
+            throw new InvalidUploadPartException("Ни одна часть ещё не загружена");
+        }
+        Map<Integer, String> etags = new LinkedHashMap<>();
+        for (int i = 0; i < uploaded.size(); i++) {
+            UploadSessionPart p = uploaded.get(i);
+            if (p.getPartNumber() != i + 1) {
+                throw new InvalidUploadPartException("Не хватает части " + (i + 1));
+            }
+            if (i < uploaded.size() - 1 && p.getSize() < MIN_PART_SIZE) {
+                throw new InvalidUploadPartException("Часть " + p.getPartNumber() + " меньше 5 МБ (допустимо только для последней)");
+            }
+            etags.put(p.getPartNumber(), p.getEtag());
+        }
+
+        try {
+            storage.completeMultipart(session.getObjectKey(), session.getS3UploadId(), etags);
+        } catch (NoSuchUploadException e) {
+            // повтор после сбоя в completeUpload: multipart уже собран, если объект на месте
+            if (storage.objectSize(session.getObjectKey()).isEmpty()) {
+                throw new AssetUploadException("Не удалось собрать файл: " + e.getMessage());
+            }
+        } catch (SdkException e) {
+            throw new AssetUploadException("Не удалось собрать файл: " + e.getMessage());
+        }
+
+        UploadCompleteResponse response = courseService.completeUpload(
+                courseId, userId, isAdmin,
+                new CompleteUploadRequest(session.getTarget(), session.getObjectKey())
+        );
+        sessions.delete(session);
+        return response;
+    }
+
+    @Override
+    public Void abort(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin) {
+        UploadSession session = load(courseId, sessionId, userId, isAdmin);
+        storage.abortMultipart(session.getObjectKey(), session.getS3UploadId());
+        sessions.delete(session);
+        return null;
+    }
+
+    /* ---------------- HELPERS ---------------- */
+
+    private UploadSession load(UUID courseId, UUID sessionId, UUID userId, boolean isAdmin) {
+        UploadSession session = sessions.findById(sessionId)
+                .filter(s -> s.getCourseId().equals(courseId))
+                .orElseThrow(() -> new UploadSessionNotFoundException(sessionId.toString()));
+
+        if (!isAdmin && !session.getAuthorId().equals(userId)) {
+            throw new CourseAccessDeniedException(courseId.toString());
+        }
+        return session;
+    }
+
+    private UploadSessionResponse toResponse(UploadSession s, List<UploadSessionPart> uploaded) {
+        return new UploadSessionResponse(
+                s.getId(),
+                s.getTarget(),
+                s.getObjectKey(),
+                partSize.toBytes(),
+                MIN_PART_SIZE,
+                maxPartSize.toBytes(),
+                uploaded.stream().map(UploadPartResponse::from).toList(),
+                s.getCreatedAt() != null ? s.getCreatedAt().plus(sessionTtl) : null
+        );
+    }
+
+    private void ensureOwnerOrAdmin(Course c, UUID userId, boolean isAdmin) {
+        if (isAdmin) return;
+        if (!c.getAuthorId().equals(userId)) {
+            throw new CourseAccessDeniedException(c.getId().toString());
+        }
+    }
+}
@@ -15,11 +15,18 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import ru.ixlax.courseservice.s3.AssetUploadResult;
+import ru.ixlax.courseservice.s3.PresignedUpload;
 import ru.ixlax.courseservice.service.CourseService;
 import ru.ixlax.courseservice.web.dto.CatalogFilter;
+import ru.ixlax.courseservice.web.dto.CompleteUploadRequest;
+import ru.ixlax.courseservice.web.dto.CourseAssetResponse;
 import ru.ixlax.courseservice.web.dto.CourseAuthorResponse;
+import ru.ixlax.courseservice.web.dto.CoursePageResponse;
 import ru.ixlax.courseservice.web.dto.CourseRequest;
 import ru.ixlax.courseservice.web.dto.CourseResponse;
+import ru.ixlax.courseservice.web.dto.PresignUploadRequest;
+import ru.ixlax.courseservice.web.dto.UploadCompleteResponse;
 
 import java.util.List;
 import java.util.Map;
@@ -43,7 +50,7 @@ public class CourseController {
             description = """
                     Возвращает карточки всех опубликованных курсов для каталога. \
                     Поддерживает фильтры по названию/описанию, автору, минимальному рейтингу \
-                    и сортировку (rating_desc | rating_asc | newest | oldest)."""
+                    и сортировку (rating_desc | rating_asc | newest | oldest | relevance)."""
     )
     @Tag(name = PUBLIC)
     @GetMapping
@@ -53,6 +60,23 @@ public class CourseController {
         return ResponseEntity.ok(courses.getAll(filter));
     }
 
+    @Operation(
+            summary = "Каталог курсов постранично",
+            description = """
+                    Keyset-пагинация каталога: те же фильтры и сортировки, что и у списка (кроме relevance — 400), \
+                    но курсы отдаются порциями по limit (по умолчанию 20, максимум 100). \
+                    Для следующей страницы передайте nextCursor из предыдущего ответа."""
+    )
+    @Tag(name = PUBLIC)
+    @GetMapping("/catalog")
+    public ResponseEntity<CoursePageResponse> getPage(
+            @ParameterObject CatalogFilter filter,
+            @Parameter(description = "Курсор из nextCursor предыдущей страницы") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Размер страницы (1..100)") @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(courses.getPage(filter, cursor, limit));
+    }
+
     @Operation(
             summary = "Авторы опубликованных курсов",
             description = "Возвращает авторов, у которых есть опубликованные курсы (для фильтров каталога)."
@@ -224,6 +248,106 @@ public class CourseController {
         return ResponseEntity.ok(Map.of("url", url));
     }
 
+    @Operation(
+            summary = "Манифест ассетов курса",
+            description = "Логические пути ассетов курса и блобы, на которые они указывают.",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @GetMapping("/{id}/assets")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<List<CourseAssetResponse>> getAssets(
+            @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID authorId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(courses.getAssets(id, authorId, isAdmin));
+    }
+
+    @Operation(
+            summary = "Загрузить несколько ассетов",
+            description = "Файлы грузятся в хранилище параллельно (assets/<имя файла>). "
+                    + "Возвращает результат по каждому файлу: URL или текст ошибки.",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PostMapping(value = "/{id}/assets/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<List<AssetUploadResult>> uploadAssets(
+            @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @RequestPart("files") List<MultipartFile> files
+    ) {
+        UUID authorId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(courses.uploadAssets(id, authorId, isAdmin, files));
+    }
+
+    @Operation(
+            summary = "Ссылка для прямой загрузки",
+            description = """
+                    Выдаёт presigned PUT URL в хранилище курса. Клиент грузит файл напрямую \
+                    (с заголовками из ответа), затем вызывает /uploads/complete.""",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PostMapping("/{id}/uploads/presign")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<PresignedUpload> presignUpload(
+            @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Valid @RequestBody PresignUploadRequest req
+    ) {
+        UUID authorId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(courses.presignUpload(id, authorId, isAdmin, req));
+    }
+
+    @Operation(
+            summary = "Подтвердить прямую загрузку",
+            description = """
+                    Проверяет, что объект появился в хранилище, и для PREVIEW/STRUCTURE/LESSONS \
+                    записывает его URL в курс.""",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PostMapping("/{id}/uploads/complete")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<UploadCompleteResponse> completeUpload(
+            @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Valid @RequestBody CompleteUploadRequest req
+    ) {
+        UUID authorId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(courses.completeUpload(id, authorId, isAdmin, req));
+    }
+
+    @Operation(
+            summary = "Клонировать курс",
+            description = """
+                    Создаёт неопубликованную копию курса с уроками, тестом и файлами. \
+                    Файлы копируются внутри хранилища, без повторной загрузки.""",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PostMapping("/{id}/clone")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<CourseResponse> cloneCourse(
+            @PathVariable UUID id,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID authorId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(courses.cloneCourse(id, authorId, isAdmin));
+    }
+
     @Operation(
             summary = "Опубликовать/скрыть курс",
             description = "Меняет флаг published. Недоступно для студентов.",
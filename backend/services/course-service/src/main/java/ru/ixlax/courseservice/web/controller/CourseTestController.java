@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -64,7 +65,8 @@ public class CourseTestController {
 
     @Operation(
             summary = "Получить тест для прохождения",
-            description = "Возвращает вопросы без отметки правильных ответов. Требует записи на курс.",
+            description = "Возвращает вопросы без отметки правильных ответов. Требует записи на курс. "
+                    + "Поддерживает If-None-Match: при неизменном тесте отвечает 304.",
             security = @SecurityRequirement(name = "BearerAuth")
     )
     @Tag(name = STUDENT)
@@ -75,7 +77,12 @@ public class CourseTestController {
             @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
     ) {
         UUID userId = requireUser(jwt);
-        return ResponseEntity.ok(tests.getForPassing(courseId, userId));
+        CourseTestContentResponse content = tests.getForPassing(courseId, userId);
+        // при совпадении If-None-Match Spring сам отдаст 304 без тела
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(contentVersion(content))
+                .body(content);
     }
 
     @Operation(
@@ -111,6 +118,11 @@ public class CourseTestController {
         return ResponseEntity.ok(tests.getLatestAttempt(courseId, userId));
     }
 
+    private String contentVersion(CourseTestContentResponse content) {
+        long version = content.updatedAt() == null ? 0 : content.updatedAt().toInstant().toEpochMilli();
+        return content.testId() + "-" + version;
+    }
+
     private UUID requireUser(Jwt jwt) {
         if (jwt == null || jwt.getSubject() == null) {
             throw new IllegalArgumentException("Требуется авторизация");
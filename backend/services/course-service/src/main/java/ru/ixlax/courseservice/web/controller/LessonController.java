@@ -12,6 +12,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import ru.ixlax.courseservice.service.LessonService;
+import ru.ixlax.courseservice.web.dto.LessonOutlineResponse;
 import ru.ixlax.courseservice.web.dto.LessonRequest;
 import ru.ixlax.courseservice.web.dto.LessonResponse;
 
@@ -41,6 +42,34 @@ public class LessonController {
         return ResponseEntity.ok(lessons.getByCourse(courseId, requester, isAdmin));
     }
 
+    @Operation(
+            summary = "Оглавление курса",
+            description = "Только id, название, порядок и отметка о прохождении текущим пользователем — без контента уроков."
+    )
+    @Tag(name = PUBLIC)
+    @GetMapping("/outline")
+    public ResponseEntity<List<LessonOutlineResponse>> getOutline(
+            @PathVariable UUID courseId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID requester = jwt != null ? UUID.fromString(jwt.getSubject()) : null;
+        boolean isAdmin = jwt != null && "ADMIN".equals(jwt.getClaimAsString("role"));
+        return ResponseEntity.ok(lessons.getOutline(courseId, requester, isAdmin));
+    }
+
+    @Operation(summary = "Получить урок", description = "Один урок с контентом. Правила доступа как у списка уроков.")
+    @Tag(name = PUBLIC)
+    @GetMapping("/{lessonId}")
+    public ResponseEntity<LessonResponse> getLesson(
+            @PathVariable UUID courseId,
+            @PathVariable UUID lessonId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID requester = jwt != null ? UUID.fromString(jwt.getSubject()) : null;
+        boolean isAdmin = jwt != null && "ADMIN".equals(jwt.getClaimAsString("role"));
+        return ResponseEntity.ok(lessons.getLesson(courseId, lessonId, requester, isAdmin));
+    }
+
     @Operation(
             summary = "Создать урок",
             description = "Добавляет новый урок в курс. Порядок определяется orderIndex или очередностью.",
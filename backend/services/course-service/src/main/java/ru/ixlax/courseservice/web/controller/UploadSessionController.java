@@ -0,0 +1,137 @@
+package ru.ixlax.courseservice.web.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import ru.ixlax.courseservice.service.UploadSessionService;
+import ru.ixlax.courseservice.web.dto.UploadCompleteResponse;
+import ru.ixlax.courseservice.web.dto.UploadPartResponse;
+import ru.ixlax.courseservice.web.dto.UploadSessionRequest;
+import ru.ixlax.courseservice.web.dto.UploadSessionResponse;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static ru.ixlax.courseservice.web.SwaggerRoleTags.TEACHER_ADMIN;
+
+@Tag(name = "Upload sessions", description = "Возобновляемая загрузка больших файлов курса по частям")
+@RestController
+@RequestMapping("/api/courses/{courseId}/uploads/sessions")
+@RequiredArgsConstructor
+public class UploadSessionController {
+
+    private final UploadSessionService uploads;
+
+    @Operation(
+            summary = "Начать загрузку по частям",
+            description = "Создаёт multipart-загрузку в хранилище. В ответе — id сессии и рекомендуемый размер части.",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PostMapping
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<UploadSessionResponse> create(
+            @PathVariable UUID courseId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            @Valid @RequestBody UploadSessionRequest req
+    ) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(uploads.create(courseId, userId, isAdmin, req));
+    }
+
+    @Operation(
+            summary = "Состояние загрузки",
+            description = "Список уже принятых частей — после обрыва нужно дослать только недостающие.",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @GetMapping("/{sessionId}")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<UploadSessionResponse> get(
+            @PathVariable UUID courseId,
+            @PathVariable UUID sessionId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(uploads.get(courseId, sessionId, userId, isAdmin));
+    }
+
+    @Operation(
+            summary = "Загрузить часть",
+            description = """
+                    Тело запроса — сырые байты части (application/octet-stream) с Content-Length. \
+                    Повторная отправка того же номера перезаписывает часть.""",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PutMapping(value = "/{sessionId}/parts/{partNumber}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<UploadPartResponse> uploadPart(
+            @PathVariable UUID courseId,
+            @PathVariable UUID sessionId,
+            @PathVariable int partNumber,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt,
+            HttpServletRequest request
+    ) throws IOException {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(uploads.uploadPart(
+                courseId, sessionId, userId, isAdmin,
+                partNumber, request.getInputStream(), request.getContentLengthLong()
+        ));
+    }
+
+    @Operation(
+            summary = "Завершить загрузку",
+            description = "Собирает файл из частей и для PREVIEW/STRUCTURE/LESSONS записывает его URL в курс.",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @PostMapping("/{sessionId}/complete")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<UploadCompleteResponse> complete(
+            @PathVariable UUID courseId,
+            @PathVariable UUID sessionId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        return ResponseEntity.ok(uploads.complete(courseId, sessionId, userId, isAdmin));
+    }
+
+    @Operation(
+            summary = "Отменить загрузку",
+            description = "Удаляет сессию и уже принятые части из хранилища.",
+            security = @SecurityRequirement(name = "BearerAuth")
+    )
+    @Tag(name = TEACHER_ADMIN)
+    @DeleteMapping("/{sessionId}")
+    @PreAuthorize("hasAnyRole('TEACHER','ADMIN')")
+    public ResponseEntity<Void> abort(
+            @PathVariable UUID courseId,
+            @PathVariable UUID sessionId,
+            @Parameter(hidden = true) @AuthenticationPrincipal Jwt jwt
+    ) {
+        UUID userId = UUID.fromString(jwt.getSubject());
+        boolean isAdmin = "ADMIN".equals(jwt.getClaimAsString("role"));
+
+        uploads.abort(courseId, sessionId, userId, isAdmin);
+        return ResponseEntity.noContent().build();
+    }
+}
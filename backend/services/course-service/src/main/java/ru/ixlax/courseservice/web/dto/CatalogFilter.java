@@ -2,17 +2,31 @@ package ru.ixlax.courseservice.web.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.Locale;
 import java.util.UUID;
 
 @Schema(description = "Фильтры и сортировка каталога курсов")
 public record CatalogFilter(
-        @Schema(description = "Поиск по названию и описанию (substring, case-insensitive)", example = "python")
+        @Schema(description = "Поиск по названию и описанию (полнотекстовый + substring, case-insensitive)", example = "python")
         String query,
         @Schema(description = "Фильтр по автору курса (UUID преподавателя)", example = "2f8b4c0e-1a2b-4c3d-9e4f-567890abcdef")
         UUID authorId,
         @Schema(description = "Минимальный рейтинг (>=)", example = "4.5")
         Double minRating,
-        @Schema(description = "Сортировка: rating_desc (по умолчанию), rating_asc, newest, oldest", example = "newest", defaultValue = "rating_desc")
+        @Schema(description = "Сортировка: rating_desc (по умолчанию), rating_asc, newest, oldest; relevance — при заданном query", example = "newest", defaultValue = "rating_desc")
         String sort
 ) {
+
+    /**
+     * Приводит фильтр к каноническому виду (trim запроса, регистр сортировки),
+     * чтобы эквивалентные запросы давали одинаковый ключ кеша каталога.
+     */
+    public static CatalogFilter normalize(CatalogFilter filter) {
+        if (filter == null) {
+            return new CatalogFilter(null, null, null, null);
+        }
+        String query = filter.query() == null || filter.query().isBlank() ? null : filter.query().trim();
+        String sort = filter.sort() == null || filter.sort().isBlank() ? null : filter.sort().trim().toLowerCase(Locale.ROOT);
+        return new CatalogFilter(query, filter.authorId(), filter.minRating(), sort);
+    }
 }
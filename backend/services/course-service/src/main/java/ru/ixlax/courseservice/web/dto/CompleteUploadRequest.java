@@ -0,0 +1,12 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import ru.ixlax.courseservice.s3.UploadTarget;
+
+@Schema(description = "Подтверждение, что файл загружен по presigned URL")
+public record CompleteUploadRequest(
+        @Schema(description = "Та же цель, что и при запросе ссылки") @NotNull UploadTarget target,
+        @Schema(description = "key из ответа /uploads/presign") @NotBlank String key
+) {}
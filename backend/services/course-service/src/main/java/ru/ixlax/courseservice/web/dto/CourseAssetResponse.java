@@ -0,0 +1,15 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+
+@Schema(description = "Запись манифеста ассетов курса")
+public record CourseAssetResponse(
+        @Schema(description = "Логический путь внутри курса", example = "assets/cover.png") String path,
+        @Schema(description = "Ключ блоба в хранилище") String contentKey,
+        @Schema(description = "Публичный URL") String url,
+        @Schema(description = "Размер в байтах") long size,
+        @Schema(description = "Content-Type") String contentType,
+        @Schema(description = "Когда путь последний раз переписан") OffsetDateTime updatedAt
+) {}
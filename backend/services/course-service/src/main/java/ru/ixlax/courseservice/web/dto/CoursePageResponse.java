@@ -0,0 +1,12 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Страница каталога курсов с keyset-курсором")
+public record CoursePageResponse(
+        @Schema(description = "Карточки курсов текущей страницы") List<CourseResponse> items,
+        @Schema(description = "Курсор для запроса следующей страницы (null, если страница последняя)") String nextCursor,
+        @Schema(description = "Есть ли ещё курсы после этой страницы") boolean hasMore
+) {}
@@ -1,8 +1,9 @@
 package ru.ixlax.courseservice.web.dto;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Schema(description = "DTO теста для студентов (без правильных ответов)")
@@ -10,6 +11,8 @@ public record CourseTestContentResponse(
         @Schema(description = "ID теста") UUID testId,
         @Schema(description = "ID курса") UUID courseId,
         @Schema(description = "Название теста") String title,
-        @Schema(description = "Список вопросов без отметок correct") JsonNode questions,
-        @Schema(description = "Минимум правильных ответов для прохождения") Integer passingScore
+        @Schema(description = "Список вопросов без отметок correct", type = "array")
+        @JsonRawValue String questions,
+        @Schema(description = "Минимум правильных ответов для прохождения") Integer passingScore,
+        @Schema(description = "Время последнего изменения теста") OffsetDateTime updatedAt
 ) {}
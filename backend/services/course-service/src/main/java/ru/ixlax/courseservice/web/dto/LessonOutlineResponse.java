@@ -0,0 +1,23 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.ixlax.courseservice.repository.projection.LessonOutlineView;
+
+import java.util.UUID;
+
+@Schema(description = "Пункт оглавления курса (без контента урока)")
+public record LessonOutlineResponse(
+        @Schema(description = "ID урока") UUID id,
+        @Schema(description = "Название урока") String title,
+        @Schema(description = "Порядок сортировки") Integer orderIndex,
+        @Schema(description = "Завершён ли урок текущим пользователем") boolean completed
+) {
+    public static LessonOutlineResponse from(LessonOutlineView view) {
+        return new LessonOutlineResponse(
+                view.getId(),
+                view.getTitle(),
+                view.getOrderIndex(),
+                view.getCompleted()
+        );
+    }
+}
@@ -1,6 +1,6 @@
 package ru.ixlax.courseservice.web.dto;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.UUID;
@@ -10,6 +10,7 @@ public record LessonResponse(
         @Schema(description = "ID урока") UUID id,
         @Schema(description = "ID курса") UUID courseId,
         @Schema(description = "Название урока") String title,
-        @Schema(description = "Контент урока в JSON формате") JsonNode content,
+        @Schema(description = "Контент урока в JSON формате", type = "object")
+        @JsonRawValue String content,
         @Schema(description = "Порядок сортировки") Integer orderIndex
 ) {}
@@ -0,0 +1,12 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import ru.ixlax.courseservice.s3.UploadTarget;
+
+@Schema(description = "Запрос presigned URL для прямой загрузки в хранилище")
+public record PresignUploadRequest(
+        @Schema(description = "Куда кладём файл: ASSET | PREVIEW | STRUCTURE | LESSONS") @NotNull UploadTarget target,
+        @Schema(description = "Имя файла (для ASSET и расширения PREVIEW)") String fileName,
+        @Schema(description = "Content-Type файла") String contentType
+) {}
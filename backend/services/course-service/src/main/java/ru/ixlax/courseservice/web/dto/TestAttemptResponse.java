@@ -19,20 +19,42 @@ public record TestAttemptResponse(
         @Schema(description = "Дата и время попытки") OffsetDateTime createdAt
 ) {
     public static TestAttemptResponse from(TestAttempt attempt) {
-        int total = attempt.getTotalQuestions() == null ? 0 : attempt.getTotalQuestions();
-        int correct = attempt.getCorrectAnswers() == null ? 0 : attempt.getCorrectAnswers();
-        int percent = total == 0 ? 0 : (int) Math.round((double) correct * 100 / total);
-
-        return new TestAttemptResponse(
+        return of(
                 attempt.getId(),
                 attempt.getTest().getId(),
                 attempt.getTest().getCourse().getId(),
                 attempt.getUserId(),
+                attempt.getCorrectAnswers(),
+                attempt.getTotalQuestions(),
+                attempt.isPassed(),
+                attempt.getCreatedAt()
+        );
+    }
+
+    public static TestAttemptResponse of(
+            UUID attemptId,
+            UUID testId,
+            UUID courseId,
+            UUID userId,
+            Integer correctAnswers,
+            Integer totalQuestions,
+            boolean passed,
+            OffsetDateTime createdAt
+    ) {
+        int total = totalQuestions == null ? 0 : totalQuestions;
+        int correct = correctAnswers == null ? 0 : correctAnswers;
+        int percent = total == 0 ? 0 : (int) Math.round((double) correct * 100 / total);
+
+        return new TestAttemptResponse(
+                attemptId,
+                testId,
+                courseId,
+                userId,
                 correct,
                 total,
-                attempt.isPassed(),
+                passed,
                 percent,
-                attempt.getCreatedAt()
+                createdAt
         );
     }
 }
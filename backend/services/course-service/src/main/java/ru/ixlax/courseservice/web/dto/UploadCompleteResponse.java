@@ -0,0 +1,11 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Результат подтверждения загрузки")
+public record UploadCompleteResponse(
+        @Schema(description = "Ключ объекта") String key,
+        @Schema(description = "Публичный URL файла") String url,
+        @Schema(description = "Размер объекта в байтах") long size,
+        @Schema(description = "Курс после записи URL (для ASSET не меняется)") CourseResponse course
+) {}
@@ -0,0 +1,15 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.ixlax.courseservice.domain.UploadSessionPart;
+
+@Schema(description = "Принятая часть загрузки")
+public record UploadPartResponse(
+        @Schema(description = "Номер части, с 1") int partNumber,
+        @Schema(description = "ETag части в S3") String etag,
+        @Schema(description = "Размер части в байтах") long size
+) {
+    public static UploadPartResponse from(UploadSessionPart p) {
+        return new UploadPartResponse(p.getPartNumber(), p.getEtag(), p.getSize());
+    }
+}
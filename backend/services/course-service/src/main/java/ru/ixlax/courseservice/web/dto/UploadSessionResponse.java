@@ -0,0 +1,20 @@
+package ru.ixlax.courseservice.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import ru.ixlax.courseservice.s3.UploadTarget;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Состояние возобновляемой загрузки")
+public record UploadSessionResponse(
+        @Schema(description = "ID сессии") UUID id,
+        @Schema(description = "Куда загружается файл") UploadTarget target,
+        @Schema(description = "Ключ объекта в хранилище") String key,
+        @Schema(description = "Рекомендуемый размер части в байтах") long partSize,
+        @Schema(description = "Минимальный размер части (кроме последней)") long minPartSize,
+        @Schema(description = "Максимальный размер части") long maxPartSize,
+        @Schema(description = "Уже принятые части — их можно не отправлять повторно") List<UploadPartResponse> parts,
+        @Schema(description = "Когда незавершённая сессия будет отменена") OffsetDateTime expiresAt
+) {}
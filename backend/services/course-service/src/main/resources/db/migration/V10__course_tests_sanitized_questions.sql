@@ -0,0 +1,23 @@
+ALTER TABLE course_tests
+    ADD COLUMN IF NOT EXISTS sanitized_questions_json TEXT;
+
+-- то же, что CourseTestServiceImpl.sanitizeQuestions: вопросы без отметок correct
+UPDATE course_tests t
+SET sanitized_questions_json = (
+    SELECT coalesce(jsonb_agg(
+               jsonb_build_object(
+                   'id', q.question ->> 'id',
+                   'title', coalesce(q.question ->> 'title', ''),
+                   'multiple', coalesce((q.question ->> 'multiple')::boolean, false),
+                   'options', (
+                       SELECT coalesce(jsonb_agg(
+                                  jsonb_build_object(
+                                      'key', o.opt ->> 'key',
+                                      'label', coalesce(o.opt ->> 'label', '')
+                                  ) ORDER BY o.ord), '[]'::jsonb)
+                       FROM jsonb_array_elements(q.question -> 'options') WITH ORDINALITY AS o(opt, ord)
+                   )
+               ) ORDER BY q.ord), '[]'::jsonb)::text
+    FROM jsonb_array_elements(t.questions_json::jsonb) WITH ORDINALITY AS q(question, ord)
+)
+WHERE sanitized_questions_json IS NULL;
@@ -0,0 +1,12 @@
+-- Локальная реплика имён авторов из auth-service (лента /api/auth/authors/changes).
+-- version — версия изменения в auth-service, по max(version) продолжается синхронизация.
+CREATE TABLE IF NOT EXISTS author_directory
+(
+    user_id   UUID PRIMARY KEY,
+    name      VARCHAR(255) NOT NULL,
+    role      VARCHAR(32)  NOT NULL,
+    version   BIGINT       NOT NULL,
+    synced_at TIMESTAMPTZ  NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_author_directory_version ON author_directory (version);
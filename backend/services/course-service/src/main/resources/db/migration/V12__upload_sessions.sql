@@ -0,0 +1,25 @@
+-- Сессии возобновляемой загрузки (S3 multipart upload) и уже принятые части.
+CREATE TABLE IF NOT EXISTS upload_sessions
+(
+    id           UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    course_id    UUID          NOT NULL REFERENCES courses (id) ON DELETE CASCADE,
+    author_id    UUID          NOT NULL,
+    target       VARCHAR(16)   NOT NULL,
+    object_key   VARCHAR(1024) NOT NULL,
+    s3_upload_id VARCHAR(1024) NOT NULL,
+    content_type VARCHAR(255),
+    created_at   TIMESTAMPTZ   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_course ON upload_sessions (course_id);
+CREATE INDEX IF NOT EXISTS idx_upload_sessions_created ON upload_sessions (created_at);
+
+CREATE TABLE IF NOT EXISTS upload_session_parts
+(
+    session_id  UUID         NOT NULL REFERENCES upload_sessions (id) ON DELETE CASCADE,
+    part_number INT          NOT NULL,
+    etag        VARCHAR(255) NOT NULL,
+    size        BIGINT       NOT NULL,
+    uploaded_at TIMESTAMPTZ  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (session_id, part_number)
+);
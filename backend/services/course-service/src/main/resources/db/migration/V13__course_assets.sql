@@ -0,0 +1,14 @@
+-- Манифест ассетов курса: логический путь → ключ блоба в хранилище.
+-- Блобы лежат под blobs/sha256/.. и общие для всех курсов, одинаковое содержимое хранится один раз.
+CREATE TABLE IF NOT EXISTS course_assets
+(
+    course_id    UUID          NOT NULL REFERENCES courses (id) ON DELETE CASCADE,
+    path         VARCHAR(1024) NOT NULL,
+    content_key  VARCHAR(1024) NOT NULL,
+    size         BIGINT        NOT NULL,
+    content_type VARCHAR(255),
+    updated_at   TIMESTAMPTZ   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (course_id, path)
+);
+
+CREATE INDEX IF NOT EXISTS idx_course_assets_content_key ON course_assets (content_key);
@@ -0,0 +1,4 @@
+-- SHA-256 текущих structure.json / lessons.json: неизменённый документ повторно не загружается.
+ALTER TABLE courses
+    ADD COLUMN IF NOT EXISTS structure_hash VARCHAR(64),
+    ADD COLUMN IF NOT EXISTS lessons_hash   VARCHAR(64);
@@ -0,0 +1,14 @@
+-- Очередь очистки хранилища после удаления курса: строка пишется в той же транзакции,
+-- что и удаление курса, поэтому задача не теряется при падении сервиса.
+CREATE TABLE IF NOT EXISTS storage_cleanup_jobs
+(
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    course_id       UUID          NOT NULL,
+    prefix          VARCHAR(1024) NOT NULL,
+    attempts        INT           NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error      TEXT,
+    created_at      TIMESTAMPTZ   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_cleanup_jobs_next ON storage_cleanup_jobs (next_attempt_at);
@@ -0,0 +1,12 @@
+UPDATE courses SET rating = 0.0 WHERE rating IS NULL;
+UPDATE courses SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+ALTER TABLE courses
+    ALTER COLUMN rating SET NOT NULL,
+    ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_courses_catalog_rating
+    ON courses (rating, created_at, id) WHERE published;
+
+CREATE INDEX IF NOT EXISTS idx_courses_catalog_created
+    ON courses (created_at, id) WHERE published;
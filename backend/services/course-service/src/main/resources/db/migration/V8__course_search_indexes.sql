@@ -0,0 +1,12 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- выражение должно совпадать с CourseSearchFunctionContributor
+CREATE INDEX IF NOT EXISTS idx_courses_fts
+    ON courses USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
+
+-- substring-поиск lower(...) LIKE '%q%' по триграммам
+CREATE INDEX IF NOT EXISTS idx_courses_title_trgm
+    ON courses USING GIN (lower(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_courses_description_trgm
+    ON courses USING GIN (lower(description) gin_trgm_ops);
@@ -0,0 +1,14 @@
+ALTER TABLE courses
+    ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_count INT NOT NULL DEFAULT 0;
+
+UPDATE courses c
+SET rating_sum   = agg.total,
+    rating_count = agg.cnt,
+    rating       = agg.total::double precision / agg.cnt
+FROM (
+    SELECT course_id, SUM(rating) AS total, COUNT(*) AS cnt
+    FROM course_reviews
+    GROUP BY course_id
+) agg
+WHERE agg.course_id = c.id;
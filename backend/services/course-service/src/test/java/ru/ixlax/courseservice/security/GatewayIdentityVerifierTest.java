@@ -0,0 +1,90 @@
+package ru.ixlax.courseservice.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сверка с форматом подписи GatewayIdentity из api-gateway. Эталонная подпись
+ * {@link #GATEWAY_SIGNATURE} закреплена и в GatewayIdentityTest в api-gateway: расхождение форматов
+ * ломает один из двух тестов.
+ */
+class GatewayIdentityVerifierTest {
+
+	private static final String SECRET = "test-identity-secret";
+	private static final String USER_ID = "11111111-1111-1111-1111-111111111111";
+	private static final String NAME = "Анна Иванова";
+	private static final String ENCODED_NAME = "%D0%90%D0%BD%D0%BD%D0%B0+%D0%98%D0%B2%D0%B0%D0%BD%D0%BE%D0%B2%D0%B0";
+	private static final String EXPIRES = "4102444800";
+	private static final String GATEWAY_SIGNATURE = "Res9Wmui3nO5Df9KERbMMZTJ576kXPL2hottNdDYfSo";
+
+	private final GatewayIdentityVerifier verifier = new GatewayIdentityVerifier(SECRET);
+
+	@Test
+	void acceptsGatewaySignatureWithEncodedName() {
+		Jwt jwt = verifier.resolve(request("TEACHER", ENCODED_NAME, EXPIRES, GATEWAY_SIGNATURE), "token");
+
+		assertThat(jwt).isNotNull();
+		assertThat(jwt.getSubject()).isEqualTo(USER_ID);
+		assertThat(jwt.getClaimAsString("role")).isEqualTo("TEACHER");
+		assertThat(jwt.getClaimAsString("email")).isEqualTo("anna@example.com");
+		assertThat(jwt.getClaimAsString("name")).isEqualTo(NAME);
+		assertThat(jwt.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(Long.parseLong(EXPIRES)));
+	}
+
+	@Test
+	void encodesNameLikeGateway() {
+		assertThat(URLEncoder.encode(NAME, StandardCharsets.UTF_8)).isEqualTo(ENCODED_NAME);
+	}
+
+	@Test
+	void rejectsExpiredHeaders() {
+		String expired = Long.toString(Instant.now().minusSeconds(60).getEpochSecond());
+		String signature = sign(USER_ID, "TEACHER", "anna@example.com", ENCODED_NAME, expired);
+
+		assertThat(verifier.resolve(request("TEACHER", ENCODED_NAME, expired, signature), "token")).isNull();
+	}
+
+	@Test
+	void rejectsHeadersWithoutExpiry() {
+		String signature = sign(USER_ID, "TEACHER", "anna@example.com", ENCODED_NAME, "");
+
+		assertThat(verifier.resolve(request("TEACHER", ENCODED_NAME, "", signature), "token")).isNull();
+	}
+
+	@Test
+	void rejectsTamperedHeader() {
+		assertThat(verifier.resolve(request("ADMIN", ENCODED_NAME, EXPIRES, GATEWAY_SIGNATURE), "token")).isNull();
+	}
+
+	private static MockHttpServletRequest request(String role, String encodedName, String expires, String signature) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(GatewayIdentityVerifier.USER_ID, USER_ID);
+		request.addHeader(GatewayIdentityVerifier.USER_ROLE, role);
+		request.addHeader(GatewayIdentityVerifier.USER_EMAIL, "anna@example.com");
+		request.addHeader(GatewayIdentityVerifier.USER_NAME, encodedName);
+		request.addHeader(GatewayIdentityVerifier.EXPIRES, expires);
+		request.addHeader(GatewayIdentityVerifier.SIGNATURE, signature);
+		return request;
+	}
+
+	private static String sign(String... parts) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			byte[] digest = mac.doFinal(("upme-identity-v1\n" + String.join("\n", parts)).getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -22,6 +22,7 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final GatewayIdentityVerifier identityVerifier;
 
     @Override
     protected void doFilterInternal(
@@ -31,36 +32,48 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
         String header = request.getHeader("Authorization");
-        if (header == null || !header.startsWith("Bearer ")) {
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+
+        // запрос пришёл через шлюз: токен там уже проверен, доверяем подписанным заголовкам
+        Jwt trusted = identityVerifier.resolve(request, token);
+        if (trusted != null) {
+            authenticate(trusted, token);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (token == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = header.substring(7);
         try {
-            Jwt jwt = jwtService.parse(token);
-            String role = jwt.getClaim("role");
+            authenticate(jwtService.parse(token), token);
+        } catch (Exception ignored) {}
 
-            Collection<? extends GrantedAuthority> authorities = role != null
-                    ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                    : List.of();
+        filterChain.doFilter(request, response);
+    }
 
-            // principal = сам Jwt
-            AbstractAuthenticationToken auth = new AbstractAuthenticationToken(authorities) {
-                @Override
-                public Object getCredentials() {
-                    return token;
-                }
+    private void authenticate(Jwt jwt, String token) {
+        String role = jwt.getClaim("role");
 
-                @Override
-                public Object getPrincipal() {
-                    return jwt;
-                }
-            };
-            auth.setAuthenticated(true);
-            SecurityContextHolder.getContext().setAuthentication(auth);
-        } catch (Exception ignored) {}
+        Collection<? extends GrantedAuthority> authorities = role != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                : List.of();
 
-        filterChain.doFilter(request, response);
+        // principal = сам Jwt
+        AbstractAuthenticationToken auth = new AbstractAuthenticationToken(authorities) {
+            @Override
+            public Object getCredentials() {
+                return token;
+            }
+
+            @Override
+            public Object getPrincipal() {
+                return jwt;
+            }
+        };
+        auth.setAuthenticated(true);
+        SecurityContextHolder.getContext().setAuthentication(auth);
     }
 }